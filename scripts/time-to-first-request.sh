@@ -0,0 +1,24 @@
+#!/usr/bin/env sh
+# Mede o tempo entre o início do processo e a primeira resposta 200 da API.
+# Uso: scripts/time-to-first-request.sh <comando de inicialização...>
+# Ex.: scripts/time-to-first-request.sh java -jar target/open-contact-api-0.0.1-SNAPSHOT.jar
+# A URL consultada pode ser trocada com FIRST_REQUEST_URL (padrão: listagem de agendas).
+set -eu
+
+url="${FIRST_REQUEST_URL:-http://localhost:8080/api/v1/agendas}"
+start=$(date +%s%N)
+
+"$@" > /dev/null 2>&1 &
+pid=$!
+trap 'kill "$pid" 2> /dev/null || true' EXIT
+
+until curl -sf -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+        echo "A aplicação terminou antes de responder" >&2
+        exit 1
+    fi
+    sleep 0.05
+done
+
+end=$(date +%s%N)
+echo "Primeira requisição respondida em $(( (end - start) / 1000000 )) ms"
@@ -0,0 +1,39 @@
+package br.com.personal.opencontact.api.benchmark;
+
+import br.com.personal.opencontact.api.agenda.Agenda;
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.ContactType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Contact contact(int i, Agenda agenda) {
+        Contact contact = new Contact("Contato Exemplo " + i, ContactType.MOBILE, "11", String.format("9%08d", i), agenda);
+        contact.setId(UUID.randomUUID());
+        contact.setCreatedAt(LocalDateTime.now());
+        contact.setUpdatedAt(LocalDateTime.now());
+        return contact;
+    }
+
+    static Page<Contact> contactsPage(int size) {
+        Agenda agenda = new Agenda("Agenda Benchmark");
+        agenda.setId(UUID.randomUUID());
+
+        List<Contact> contacts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            contacts.add(contact(i, agenda));
+        }
+        return new PageImpl<>(contacts, PageRequest.of(0, size, Sort.by("name")), 10_000);
+    }
+}
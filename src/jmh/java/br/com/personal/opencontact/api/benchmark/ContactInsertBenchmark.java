@@ -0,0 +1,98 @@
+package br.com.personal.opencontact.api.benchmark;
+
+import br.com.personal.opencontact.api.common.id.UuidV7Generator;
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.ContactJdbcRepository;
+import br.com.personal.opencontact.api.contact.ContactType;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batched contact inserts with random (v4) versus time-ordered (v7) ids, against a real PostgreSQL started with
+ * Testcontainers (requires Docker). Shared buffers are kept small so that, as the table grows during the run,
+ * scattered primary key inserts stop fitting in the cache the way they would on a large production table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ContactInsertBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    public enum IdVersion {
+        V4(UUID::randomUUID),
+        V7(UuidV7Generator::generate);
+
+        private final Supplier<UUID> generator;
+
+        IdVersion(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"V4", "V7"})
+    private IdVersion idVersion;
+
+    private PostgreSQLContainer<?> postgres;
+    private SingleConnectionDataSource dataSource;
+    private ContactJdbcRepository contactJdbcRepository;
+    private UUID agendaId;
+    private int nextPhone;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                .withCommand("postgres", "-c", "shared_buffers=16MB", "-c", "fsync=off");
+        postgres.start();
+
+        dataSource = new SingleConnectionDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setContexts("integration-test");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        agendaId = idVersion.generator.get();
+        jdbcTemplate.update("INSERT INTO agendas (id, name, created_at, updated_at) VALUES (?, 'Agenda Benchmark', now(), now())", agendaId);
+        contactJdbcRepository = new ContactJdbcRepository(jdbcTemplate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Contact> contacts = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int phone = nextPhone++;
+            Contact contact = new Contact("Contato Exemplo " + phone, ContactType.MOBILE, "11", String.format("9%08d", phone), null);
+            contact.setId(idVersion.generator.get());
+            contact.setCreatedAt(now);
+            contact.setUpdatedAt(now);
+            contacts.add(contact);
+        }
+        return contactJdbcRepository.insertIgnoringDuplicatePhones(agendaId, contacts);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.personal.opencontact.api.benchmark;
+
+import br.com.personal.opencontact.api.common.dto.PageResponseDTO;
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done by the controllers on every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Page<Contact> contactsPage;
+
+    @Setup
+    public void setUp() {
+        contactsPage = BenchmarkFixtures.contactsPage(pageSize);
+    }
+
+    @Benchmark
+    public ContactResponseDTO contactFromEntity() {
+        return ContactResponseDTO.fromEntity(contactsPage.getContent().get(0));
+    }
+
+    @Benchmark
+    public PageResponseDTO<ContactResponseDTO> pageFromPage() {
+        return PageResponseDTO.fromPage(contactsPage.map(ContactResponseDTO::fromEntity));
+    }
+}
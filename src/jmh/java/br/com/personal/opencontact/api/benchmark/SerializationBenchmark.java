@@ -0,0 +1,40 @@
+package br.com.personal.opencontact.api.benchmark;
+
+import br.com.personal.opencontact.api.common.dto.PageResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a contacts page, as written by the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponseDTO<ContactResponseDTO> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the ObjectMapper used by the message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = PageResponseDTO.fromPage(BenchmarkFixtures.contactsPage(pageSize).map(ContactResponseDTO::fromEntity));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.personal.opencontact.api.benchmark;
+
+import br.com.personal.opencontact.api.agenda.Agenda;
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.ContactSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria predicate construction of the contact search filters.
+ * Hibernate is bootstrapped without a database, only its metamodel is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private UUID agendaId;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Agenda.class)
+                .addAnnotatedClass(Contact.class)
+                .setProperty("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        agendaId = UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate agendaOnly() {
+        return toPredicate(null, null);
+    }
+
+    @Benchmark
+    public Predicate nameAndPhone() {
+        return toPredicate("arquit", "9876");
+    }
+
+    private Predicate toPredicate(String nameContains, String phoneContains) {
+        CriteriaQuery<Contact> query = criteriaBuilder.createQuery(Contact.class);
+        Root<Contact> root = query.from(Contact.class);
+        return ContactSpecification.filterBy(agendaId, nameContains, phoneContains).toPredicate(root, query, criteriaBuilder);
+    }
+}
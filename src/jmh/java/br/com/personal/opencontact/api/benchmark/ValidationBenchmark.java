@@ -0,0 +1,52 @@
+package br.com.personal.opencontact.api.benchmark;
+
+import br.com.personal.opencontact.api.contact.ContactType;
+import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of the contact creation payload, dominated by its regex constraints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ContactCreateDTO validContact;
+    private ContactCreateDTO invalidContact;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validContact = new ContactCreateDTO("Marco Arquiteto", ContactType.MOBILE, "11", "987654321");
+        invalidContact = new ContactCreateDTO("Marco Arquiteto", ContactType.MOBILE, "1", "9876");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ContactCreateDTO>> validContact() {
+        return validator.validate(validContact);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ContactCreateDTO>> invalidContact() {
+        return validator.validate(invalidContact);
+    }
+}
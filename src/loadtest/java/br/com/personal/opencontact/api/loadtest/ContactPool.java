@@ -0,0 +1,44 @@
+package br.com.personal.opencontact.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The contacts known to exist, from which the workload picks the targets of reads, updates and deletes.
+ */
+final class ContactPool {
+
+    record KnownContact(UUID id, UUID agendaId, String areaCode, String phoneNumber) {
+    }
+
+    private final List<KnownContact> contacts = new ArrayList<>();
+
+    synchronized void add(KnownContact contact) {
+        contacts.add(contact);
+    }
+
+    synchronized KnownContact pick(Random random) {
+        return contacts.isEmpty() ? null : contacts.get(random.nextInt(contacts.size()));
+    }
+
+    /**
+     * Removes a random contact, so that no other request picks it once it is being deleted.
+     */
+    synchronized KnownContact take(Random random) {
+        if (contacts.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(contacts.size());
+        KnownContact taken = contacts.get(index);
+        // Swap with the last one to remove in constant time
+        contacts.set(index, contacts.getLast());
+        contacts.removeLast();
+        return taken;
+    }
+
+    synchronized int size() {
+        return contacts.size();
+    }
+}
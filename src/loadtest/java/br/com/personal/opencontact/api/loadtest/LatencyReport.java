@@ -0,0 +1,105 @@
+package br.com.personal.opencontact.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of the workload per operation, recorded in microseconds with HdrHistogram. Requests turned away by
+ * admission control are only counted: they are neither errors nor part of the latencies.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejected = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+            rejected.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void recordRejected(Operation operation) {
+        rejected.get(operation).increment();
+    }
+
+    /**
+     * Writes a summary ({@code summary.txt}) and the full percentile distribution of each operation
+     * ({@code <operation>.hgrm}, plottable with the HdrHistogram plotter) to {@code reportDir}.
+     */
+    void write(Path reportDir, PrintStream console) throws IOException {
+        Files.createDirectories(reportDir);
+
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(reportDir.resolve("summary.txt")))) {
+            for (PrintStream out : List.of(summary, console)) {
+                out.printf("%-8s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+                        "op", "requests", "errors", "rejected", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+                latencies.forEach((operation, histogram) -> out.printf("%-8s %10d %8d %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                        operation.name().toLowerCase(),
+                        histogram.getTotalCount(),
+                        errors.get(operation).sum(),
+                        rejected.get(operation).sum(),
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(90)),
+                        millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)),
+                        millis(histogram.getMaxValue())));
+            }
+        }
+
+        for (var entry : latencies.entrySet()) {
+            Path file = reportDir.resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Returns a description of every exceeded p99 budget or error rate, empty when the run is within its SLOs.
+     */
+    List<String> violations(Map<Operation, Duration> p99Budgets, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        p99Budgets.forEach((operation, budget) -> {
+            long p99Micros = latencies.get(operation).getValueAtPercentile(99);
+            if (p99Micros > budget.toNanos() / 1000) {
+                violations.add("%s p99 %.2f ms exceeds the %d ms budget"
+                        .formatted(operation.name().toLowerCase(), millis(p99Micros), budget.toMillis()));
+            }
+        });
+
+        long requests = latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        long failed = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        if (requests > 0 && (double) failed / requests > maxErrorRate) {
+            violations.add("error rate %.2f%% exceeds %.2f%%".formatted(100.0 * failed / requests, 100 * maxErrorRate));
+        }
+        return violations;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.personal.opencontact.api.loadtest;
+
+import br.com.personal.opencontact.api.OpenContactApiApplication;
+import br.com.personal.opencontact.api.loadtest.ContactPool.KnownContact;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application against the database configured in the environment ({@code SPRING_DATASOURCE_URL}, ...),
+ * seeds agendas and contacts through the API, then drives the mixed {@link Workload} at a fixed rate and reports
+ * the latency percentiles of each operation.
+ * <p>
+ * Requests are started on schedule whether or not earlier ones have completed (open loop), and latencies are
+ * measured from the scheduled start, so a stalled server shows up in the percentiles instead of slowing the
+ * load down (coordinated omission).
+ * <p>
+ * Admission control is turned off unless {@link LoadTestSettings#admission()} is set, as it would throttle the
+ * single load client; when on, its 429 and 503 responses are reported as rejected rather than as errors.
+ * <p>
+ * Run with: {@code mvn -P loadtest verify -DskipTests -Dloadtest.args="rate=300 duration=2m"}.
+ * The process exits with status 1 when a p99 budget or the error rate is exceeded.
+ */
+public final class LoadTestRunner {
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ContactPool pool = new ContactPool();
+    private final AtomicLong nextPhone = new AtomicLong();
+
+    private LoadTestRunner(LoadTestSettings settings, URI baseUri, ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromArgs(args);
+
+        int exitCode;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OpenContactApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.liquibase.contexts=loadtest",
+                        "opencontact.admission.enabled=" + settings.admission())
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+            URI baseUri = URI.create("http://localhost:" + port + contextPath);
+            exitCode = new LoadTestRunner(settings, baseUri, context.getBean(ObjectMapper.class)).run();
+        }
+        System.exit(exitCode);
+    }
+
+    private int run() throws Exception {
+        List<UUID> agendaIds = seed();
+        System.out.printf("Seeded %d agendas with %d contacts%n", agendaIds.size(), pool.size());
+
+        Workload workload = new Workload(baseUri, objectMapper, agendaIds, pool, nextPhone, settings.mix(), settings.seed());
+        LatencyReport report = new LatencyReport();
+        long sent = drive(workload, report);
+        System.out.printf("Sent %d requests at %d/s (%s warmup, %s measured)%n",
+                sent, settings.rate(), settings.warmup(), settings.duration());
+
+        report.write(settings.reportDir(), System.out);
+        List<String> violations = report.violations(settings.p99Budgets(), settings.maxErrorRate());
+        violations.forEach(violation -> System.out.println("SLO violated: " + violation));
+        return violations.isEmpty() ? 0 : 1;
+    }
+
+    /**
+     * Starts {@link LoadTestSettings#rate()} requests per second until the warmup and the measurement are over,
+     * recording the latencies of the requests scheduled after the warmup, then waits for the last responses.
+     *
+     * @return the number of requests sent
+     */
+    private long drive(Workload workload, LatencyReport report) throws InterruptedException {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        AtomicLong inFlight = new AtomicLong();
+
+        long sent = 0;
+        for (long scheduled = start; scheduled < end; scheduled = start + (long) (++sent * intervalNanos)) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Workload.Call call = workload.next();
+            boolean measured = scheduled >= measureFrom;
+            long scheduledStart = scheduled;
+            inFlight.incrementAndGet();
+            client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        try {
+                            long latency = System.nanoTime() - scheduledStart;
+                            boolean success = failure == null && response.statusCode() < 400;
+                            if (measured && failure == null && isRejected(response)) {
+                                report.recordRejected(call.operation());
+                            } else if (measured) {
+                                report.record(call.operation(), latency, success);
+                            }
+                            if (success) {
+                                call.onSuccess().accept(response.body());
+                            }
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests still pending after %s%n", inFlight.get(), DRAIN_TIMEOUT);
+        }
+        return sent;
+    }
+
+    /**
+     * Whether admission control turned the request away, see {@code RestExceptionHandler}: both of its responses
+     * carry a {@code Retry-After} header, unlike other 503s.
+     */
+    private static boolean isRejected(HttpResponse<String> response) {
+        int status = response.statusCode();
+        return (status == 429 || status == 503) && response.headers().firstValue("Retry-After").isPresent();
+    }
+
+    private List<UUID> seed() throws IOException, InterruptedException {
+        Random random = new Random(settings.seed());
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        List<UUID> agendaIds = new ArrayList<>();
+        for (int i = 0; i < settings.agendas(); i++) {
+            JsonNode agenda = send(HttpRequest.newBuilder(URI.create(baseUri + "/agendas"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(Map.of("name", "Load test " + runId + " " + i))))
+                    .build());
+            UUID agendaId = UUID.fromString(agenda.get("id").asText());
+            agendaIds.add(agendaId);
+
+            for (int offset = 0; offset < settings.contactsPerAgenda(); offset += SEED_CHUNK_SIZE) {
+                seedContacts(agendaId, Math.min(SEED_CHUNK_SIZE, settings.contactsPerAgenda() - offset), random);
+            }
+        }
+        return agendaIds;
+    }
+
+    private void seedContacts(UUID agendaId, int count, Random random) throws IOException, InterruptedException {
+        List<String> phoneNumbers = new ArrayList<>(count);
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String phoneNumber = Workload.phoneNumber(nextPhone.getAndIncrement());
+            phoneNumbers.add(phoneNumber);
+            ndjson.append(objectMapper.writeValueAsString(Map.of(
+                    "name", Workload.name(random), "type", "MOBILE", "areaCode", "11", "phoneNumber", phoneNumber)))
+                    .append('\n');
+        }
+
+        JsonNode result = send(HttpRequest.newBuilder(URI.create(baseUri + "/agendas/" + agendaId + "/contacts:bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build());
+        for (JsonNode row : result.get("rows")) {
+            if ("CREATED".equals(row.get("status").asText())) {
+                pool.add(new KnownContact(UUID.fromString(row.get("id").asText()), agendaId, "11",
+                        phoneNumbers.get(row.get("index").asInt())));
+            }
+        }
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.personal.opencontact.api.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Settings of a load test run, read from {@code key=value} arguments.
+ *
+ * @param rate              requests started per second, whatever the response times (open loop)
+ * @param warmup            how long the workload runs before latencies are recorded
+ * @param duration          how long latencies are recorded
+ * @param agendas           number of agendas seeded
+ * @param contactsPerAgenda number of contacts seeded in each agenda
+ * @param mix               relative weight of each operation in the workload
+ * @param p99Budgets        p99 latency budget of each operation, the run fails when one is exceeded
+ * @param maxErrorRate      share of failed requests above which the run fails
+ * @param admission         whether the admission control of the server stays on, off by default since the single
+ *                          load client would be throttled as one caller; its rejections are reported apart from errors
+ * @param seed              seed of the workload's random choices, for reproducible runs
+ * @param reportDir         directory where the latency reports are written
+ */
+record LoadTestSettings(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int agendas,
+        int contactsPerAgenda,
+        Map<Operation, Integer> mix,
+        Map<Operation, Duration> p99Budgets,
+        double maxErrorRate,
+        boolean admission,
+        long seed,
+        Path reportDir
+) {
+
+    static LoadTestSettings fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "15s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("agendas", "20")),
+                Integer.parseInt(values.getOrDefault("contacts-per-agenda", "2000")),
+                parsePerOperation(values.getOrDefault("mix", "create:10,search:30,get:40,update:15,delete:5"), Integer::parseInt),
+                parsePerOperation(values.getOrDefault("p99-budgets", "create:100ms,search:150ms,get:50ms,update:100ms,delete:100ms"),
+                        DurationStyle::detectAndParse),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")),
+                Boolean.parseBoolean(values.getOrDefault("admission", "false")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report-dir", "target/loadtest"))
+        );
+    }
+
+    private static <T> Map<Operation, T> parsePerOperation(String value, Function<String, T> parser) {
+        Map<Operation, T> result = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            result.put(Operation.valueOf(parts[0].trim().toUpperCase()), parser.apply(parts[1].trim()));
+        }
+        return result;
+    }
+}
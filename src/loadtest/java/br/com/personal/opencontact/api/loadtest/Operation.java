@@ -0,0 +1,17 @@
+package br.com.personal.opencontact.api.loadtest;
+
+/**
+ * The requests making up the load test workload.
+ */
+enum Operation {
+    /** {@code POST /agendas/{agendaId}/contacts} */
+    CREATE,
+    /** {@code GET /agendas/{agendaId}/contacts?nameContains=} */
+    SEARCH,
+    /** {@code GET /contacts/{id}} */
+    GET,
+    /** {@code PUT /contacts/{id}} */
+    UPDATE,
+    /** {@code DELETE /contacts/{id}} */
+    DELETE
+}
@@ -0,0 +1,160 @@
+package br.com.personal.opencontact.api.loadtest;
+
+import br.com.personal.opencontact.api.loadtest.ContactPool.KnownContact;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Builds the requests of the mixed workload. Choices are drawn from a seeded {@link Random}, so the
+ * sequence of operations and targets is the same from one run to the next; it must only be used
+ * from the thread issuing the requests.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<String> SYLLABLES = List.of(
+            "ana", "bel", "car", "dan", "edu", "fer", "gab", "hel", "iva", "jul",
+            "leo", "mar", "nat", "oli", "pau", "rob", "sil", "tia", "val", "zec");
+
+    /**
+     * A request to send, with what to do with the body of a successful response.
+     */
+    record Call(Operation operation, HttpRequest request, Consumer<String> onSuccess) {
+    }
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final List<UUID> agendaIds;
+    private final ContactPool pool;
+    private final AtomicLong nextPhone;
+    private final Random random;
+    private final Operation[] weightedOperations;
+
+    Workload(URI baseUri, ObjectMapper objectMapper, List<UUID> agendaIds, ContactPool pool,
+             AtomicLong nextPhone, Map<Operation, Integer> mix, long seed) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.agendaIds = agendaIds;
+        this.pool = pool;
+        this.nextPhone = nextPhone;
+        this.random = new Random(seed);
+        this.weightedOperations = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    /**
+     * Returns the next call of the workload. Operations needing an existing contact fall back to a creation
+     * when none is known.
+     */
+    Call next() {
+        Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+        return switch (operation) {
+            case SEARCH -> search();
+            case GET -> {
+                KnownContact contact = pool.pick(random);
+                yield contact == null ? create() : get(contact);
+            }
+            case UPDATE -> {
+                KnownContact contact = pool.pick(random);
+                yield contact == null ? create() : update(contact);
+            }
+            case DELETE -> {
+                KnownContact contact = pool.take(random);
+                yield contact == null ? create() : delete(contact);
+            }
+            case CREATE -> create();
+        };
+    }
+
+    static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int words = 2 + random.nextInt(2);
+        for (int i = 0; i < words; i++) {
+            String syllable = SYLLABLES.get(random.nextInt(SYLLABLES.size()));
+            name.append(i == 0 ? "" : " ").append(Character.toUpperCase(syllable.charAt(0))).append(syllable.substring(1));
+        }
+        return name.toString();
+    }
+
+    static String phoneNumber(long sequence) {
+        return String.format("9%08d", sequence);
+    }
+
+    private Call create() {
+        UUID agendaId = agendaIds.get(random.nextInt(agendaIds.size()));
+        String areaCode = "11";
+        String phoneNumber = phoneNumber(nextPhone.getAndIncrement());
+        String body = json(Map.of("name", name(random), "type", "MOBILE", "areaCode", areaCode, "phoneNumber", phoneNumber));
+
+        HttpRequest request = request("/agendas/" + agendaId + "/contacts")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return new Call(Operation.CREATE, request, response ->
+                pool.add(new KnownContact(UUID.fromString(read(response).get("id").asText()), agendaId, areaCode, phoneNumber)));
+    }
+
+    private Call search() {
+        UUID agendaId = agendaIds.get(random.nextInt(agendaIds.size()));
+        String fragment = SYLLABLES.get(random.nextInt(SYLLABLES.size()));
+        HttpRequest request = request("/agendas/" + agendaId + "/contacts?size=20&nameContains="
+                + URLEncoder.encode(fragment, StandardCharsets.UTF_8))
+                .GET()
+                .build();
+        return new Call(Operation.SEARCH, request, response -> { });
+    }
+
+    private Call get(KnownContact contact) {
+        return new Call(Operation.GET, request("/contacts/" + contact.id()).GET().build(), response -> { });
+    }
+
+    private Call update(KnownContact contact) {
+        String body = json(Map.of("name", name(random), "type", "MOBILE",
+                "areaCode", contact.areaCode(), "phoneNumber", contact.phoneNumber()));
+        HttpRequest request = request("/contacts/" + contact.id())
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return new Call(Operation.UPDATE, request, response -> { });
+    }
+
+    private Call delete(KnownContact contact) {
+        return new Call(Operation.DELETE, request("/contacts/" + contact.id()).DELETE().build(), response -> { });
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
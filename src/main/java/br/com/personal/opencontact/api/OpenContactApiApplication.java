@@ -1,16 +1,48 @@
 package br.com.personal.opencontact.api;
 
+import br.com.personal.opencontact.api.common.aot.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
 @SpringBootApplication
+@ConfigurationPropertiesScan
 @EnableJpaAuditing
+// Cache advice wraps the transactional advice, so entries are only written or evicted after commit.
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class OpenContactApiApplication {
 
+	static final String MIGRATE_COMMAND = "migrate";
+
 	public static void main(String[] args) {
+		if (args.length > 0 && MIGRATE_COMMAND.equals(args[0])) {
+			migrate(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
 		SpringApplication.run(OpenContactApiApplication.class, args);
 	}
 
+	/**
+	 * One-shot migration, for deployments running with {@code LIQUIBASE_ENABLED=false}: starts the application
+	 * with Liquibase enabled, which applies the changelog before Hibernate validates the schema, then exits.
+	 * The context is the same as the server's, so that it also works with AOT-processed builds, but it listens
+	 * on a random port and exits as soon as it has started.
+	 */
+	private static void migrate(String[] args) {
+		String[] migrateArgs = Stream.concat(Arrays.stream(args), Stream.of(
+				"--spring.liquibase.enabled=true",
+				"--server.port=0")).toArray(String[]::new);
+		ConfigurableApplicationContext context = SpringApplication.run(OpenContactApiApplication.class, migrateArgs);
+		System.exit(SpringApplication.exit(context));
+	}
+
 }
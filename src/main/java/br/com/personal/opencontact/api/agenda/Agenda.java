@@ -1,10 +1,12 @@
 package br.com.personal.opencontact.api.agenda;
 
+import br.com.personal.opencontact.api.common.id.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -22,11 +24,18 @@ import java.util.UUID;
 public class Agenda {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     private String name;
 
+    /**
+     * Number of contacts in the agenda, maintained by database triggers on the contacts table.
+     * Never written by JPA, so it cannot overwrite concurrent increments.
+     */
+    @Column(name = "contact_count", nullable = false, insertable = false, updatable = false)
+    private long contactCount;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
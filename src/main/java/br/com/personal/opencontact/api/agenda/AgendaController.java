@@ -4,18 +4,21 @@ import br.com.personal.opencontact.api.agenda.dto.AgendaCreateDTO;
 import br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO;
 import br.com.personal.opencontact.api.agenda.dto.AgendaUpdateDTO;
 import br.com.personal.opencontact.api.common.dto.PageResponseDTO;
+import br.com.personal.opencontact.api.common.dto.SliceResponseDTO;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @RestController
 @RequestMapping("/agendas")
@@ -37,20 +40,31 @@ public class AgendaController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AgendaResponseDTO> findById(@PathVariable UUID id) {
+    public ResponseEntity<AgendaResponseDTO> findById(@PathVariable UUID id, WebRequest request) {
+        // Validators come from the (possibly cached) agenda being returned, so they always match the body
         Agenda agenda = agendaService.findById(id);
+        ResourceVersion version = ResourceVersion.of(agenda.getUpdatedAt());
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null; // 304 Not Modified, already written along with the validators
+        }
+
         return ResponseEntity.ok(AgendaResponseDTO.fromEntity(agenda));
     }
 
     @GetMapping
-    public ResponseEntity<PageResponseDTO<AgendaResponseDTO>> findAll(@PageableDefault(size = 10, sort = "name") Pageable pageable) {
-        Page<Agenda> agendasPage = agendaService.findAll(pageable);
-
-        Page<AgendaResponseDTO> dtosPage = agendasPage.map(AgendaResponseDTO::fromEntity);
-
-        PageResponseDTO<AgendaResponseDTO> response = PageResponseDTO.fromPage(dtosPage);
+    public ResponseEntity<PageResponseDTO<AgendaResponseDTO>> findAll(@PageableDefault(size = 10, sort = "name") Pageable pageable,
+                                                                     WebRequest request) {
+        return agendaService.findAll(pageable, notModified(request))
+                .map(dtosPage -> ResponseEntity.ok(PageResponseDTO.fromPage(dtosPage)))
+                .orElse(null);
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping(params = "mode=slice")
+    public ResponseEntity<SliceResponseDTO<AgendaResponseDTO>> findAllSlice(@PageableDefault(size = 10, sort = "name") Pageable pageable,
+                                                                           WebRequest request) {
+        return agendaService.findAllSlice(pageable, notModified(request))
+                .map(dtosSlice -> ResponseEntity.ok(SliceResponseDTO.fromSlice(dtosSlice)))
+                .orElse(null);
     }
 
     @PutMapping("/{id}")
@@ -64,4 +78,12 @@ public class AgendaController {
         agendaService.delete(id);
         return ResponseEntity.noContent().build(); // 204 No Content
     }
+
+    /**
+     * The collection is validated by ETag only: its latest {@code updatedAt} does not move when an agenda is removed.
+     * When the predicate matches, the 304 Not Modified has already been written along with the ETag.
+     */
+    private static Predicate<ResourceVersion> notModified(WebRequest request) {
+        return version -> request.checkNotModified(version.eTag());
+    }
 }
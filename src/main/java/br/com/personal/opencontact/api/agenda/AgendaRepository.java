@@ -1,8 +1,15 @@
 package br.com.personal.opencontact.api.agenda;
 
+import br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,4 +32,41 @@ public interface AgendaRepository extends JpaRepository<Agenda, UUID> {
      * @return an optional containing the agenda if found, an empty optional otherwise
      */
     Optional<Agenda> findByNameIgnoreCase(String name);
+
+    /**
+     * Returns a page of agendas directly as response DTOs, without loading managed agendas
+     * and without counting them: the total comes from {@link #findVersion}.
+     *
+     * @param pageable the page to fetch
+     * @return the agendas of the requested page
+     */
+    @Query("SELECT new br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO(a.id, a.name, a.createdAt, a.updatedAt) FROM Agenda a")
+    List<AgendaResponseDTO> findResponses(Pageable pageable);
+
+    /**
+     * Returns a slice of agendas directly as response DTOs, without counting the total number of agendas.
+     *
+     * @param pageable the page to fetch
+     * @return the agendas of the requested page, and whether there is a next one
+     */
+    @Query("SELECT new br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO(a.id, a.name, a.createdAt, a.updatedAt) FROM Agenda a")
+    Slice<AgendaResponseDTO> findResponseSlice(Pageable pageable);
+
+    /**
+     * Returns an optional containing the number of contacts of the agenda with the given {@code id},
+     * if found. Otherwise, an empty optional is returned.
+     *
+     * @param id the id of the agenda
+     * @return an optional containing the contact count if the agenda exists, an empty optional otherwise
+     */
+    @Query("SELECT a.contactCount FROM Agenda a WHERE a.id = :id")
+    Optional<Long> findContactCountById(@Param("id") UUID id);
+
+    /**
+     * Returns the version of the whole agenda collection: the most recent modification date and the number of agendas.
+     *
+     * @return the version of the agenda collection
+     */
+    @Query("SELECT new br.com.personal.opencontact.api.common.http.ResourceVersion(max(a.updatedAt), count(a)) FROM Agenda a")
+    ResourceVersion findVersion();
 }
@@ -1,18 +1,27 @@
 package br.com.personal.opencontact.api.agenda;
 
 import br.com.personal.opencontact.api.agenda.dto.AgendaCreateDTO;
+import br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO;
 import br.com.personal.opencontact.api.agenda.dto.AgendaUpdateDTO;
 import br.com.personal.opencontact.api.common.exceptions.AgendaNameAlreadyExistsException;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
 import br.com.personal.opencontact.api.contact.ContactRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -21,7 +30,10 @@ public class AgendaService {
     private final AgendaRepository agendaRepository;
     private final ContactRepository contactRepository;
 
+    public static final String CACHE_NAME = "agendas";
+
     @Transactional
+    @CachePut(cacheNames = CACHE_NAME, key = "#result.id")
     public Agenda create(AgendaCreateDTO createDTO) {
         if (agendaRepository.existsByNameIgnoreCase(createDTO.name())) {
             throw new AgendaNameAlreadyExistsException("Agenda name '" + createDTO.name() + "' already exists.");
@@ -33,17 +45,41 @@ public class AgendaService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_NAME, key = "#id")
     public Agenda findById(UUID id) {
         return agendaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Agenda not found with id: " + id));
     }
 
+    /**
+     * Returns a page of agendas, or nothing when {@code notModified} accepts the version of the whole collection.
+     * The version and the page are read in the same transaction, and the total is the count of the version,
+     * so no separate count query is needed.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Page<AgendaResponseDTO>> findAll(Pageable pageable, Predicate<ResourceVersion> notModified) {
+        ResourceVersion version = agendaRepository.findVersion();
+        if (notModified.test(version)) {
+            return Optional.empty();
+        }
+        return Optional.of(new PageImpl<>(agendaRepository.findResponses(pageable), pageable, version.count()));
+    }
+
+    /**
+     * Count-free variant of {@link #findAll}: only reports whether there is a next page.
+     * The version is computed from the fetched slice, see {@link ResourceVersion#ofSlice}.
+     */
     @Transactional(readOnly = true)
-    public Page<Agenda> findAll(Pageable pageable) {
-        return agendaRepository.findAll(pageable);
+    public Optional<Slice<AgendaResponseDTO>> findAllSlice(Pageable pageable, Predicate<ResourceVersion> notModified) {
+        Slice<AgendaResponseDTO> slice = agendaRepository.findResponseSlice(pageable);
+        if (notModified.test(ResourceVersion.ofSlice(slice, AgendaResponseDTO::id, AgendaResponseDTO::updatedAt))) {
+            return Optional.empty();
+        }
+        return Optional.of(slice);
     }
 
     @Transactional
+    @CachePut(cacheNames = CACHE_NAME, key = "#id")
     public Agenda update(UUID id, AgendaUpdateDTO updateDTO) {
         Agenda agendaToUpdate = findById(id);
 
@@ -55,10 +91,12 @@ public class AgendaService {
                 });
 
         agendaToUpdate.setName(updateDTO.name());
-        return agendaRepository.save(agendaToUpdate);
+        // Flush now, so that the cached agenda carries the updatedAt set by auditing, which GET uses as its version
+        return agendaRepository.saveAndFlush(agendaToUpdate);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#id")
     public void delete(UUID id) {
         if (!agendaRepository.existsById(id)) {
             throw new EntityNotFoundException("Agenda not found with id: " + id);
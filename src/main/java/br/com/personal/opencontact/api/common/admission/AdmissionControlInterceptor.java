@@ -0,0 +1,117 @@
+package br.com.personal.opencontact.api.common.admission;
+
+import br.com.personal.opencontact.api.common.config.AdmissionProperties;
+import br.com.personal.opencontact.api.common.config.AdmissionProperties.Route;
+import br.com.personal.opencontact.api.common.exceptions.ServiceOverloadedException;
+import br.com.personal.opencontact.api.common.exceptions.TooManyRequestsException;
+import br.com.personal.opencontact.api.common.jdbc.ConnectionPoolPressure;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Rejects requests before they reach the controllers, per the {@link AdmissionProperties} of their route:
+ * <ul>
+ *     <li>with {@code 503} when too many threads already wait for a database connection, so that requests
+ *     fail fast instead of queueing on the pool until its connection timeout;</li>
+ *     <li>with {@code 429} when the client exceeds the route's rate for an agenda, so that one client hammering
+ *     one agenda cannot take the pool from everyone. Routes without an agenda share one bucket per client.</li>
+ * </ul>
+ * Rejections are counted in {@code opencontact.admission.rejections}, tagged with the route and the reason.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    static final String DEFAULT_ROUTE = "default";
+    private static final String NO_AGENDA = "*";
+
+    private record BucketKey(String route, String agendaId, String clientId) {
+    }
+
+    private final AdmissionProperties properties;
+    private final ConnectionPoolPressure poolPressure;
+    private final MeterRegistry meterRegistry;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public AdmissionControlInterceptor(AdmissionProperties properties, ConnectionPoolPressure poolPressure,
+                                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.poolPressure = poolPressure;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.bucketIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Completion of an async request (SSE stream) already admitted
+            return true;
+        }
+
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String routeName = DEFAULT_ROUTE;
+        Route route = properties.defaults();
+        for (Map.Entry<String, Route> entry : properties.routes().entrySet()) {
+            if (entry.getValue().matches(request.getMethod(), pattern)) {
+                routeName = entry.getKey();
+                route = entry.getValue();
+                break;
+            }
+        }
+
+        // Shed before rate limiting, so that shed requests do not use up the client's tokens
+        if (route.maxPendingConnections() >= 0 && poolPressure.pendingConnections() > route.maxPendingConnections()) {
+            countRejection(routeName, "overloaded");
+            throw new ServiceOverloadedException("The service is overloaded, please retry later.", properties.retryAfter());
+        }
+
+        if (route.rate() > 0) {
+            Route limits = route;
+            BucketKey key = new BucketKey(routeName, agendaId(request), clientId(request));
+            long waitNanos = buckets.get(key, k -> new TokenBucket(limits.rate(), limits.effectiveBurst()))
+                    .tryAcquire(System.nanoTime());
+            if (waitNanos > 0) {
+                countRejection(routeName, "rate_limited");
+                throw new TooManyRequestsException("Too many requests, please slow down.", Duration.ofNanos(waitNanos));
+            }
+        }
+        return true;
+    }
+
+    private String agendaId(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables == null ? NO_AGENDA : variables.getOrDefault("agendaId", NO_AGENDA);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!properties.trustedProxies().contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        String clientId = request.getHeader(properties.clientIdHeader());
+        return clientId == null || clientId.isBlank() ? remoteAddress : clientId;
+    }
+
+    private void countRejection(String route, String reason) {
+        Counter.builder("opencontact.admission.rejections")
+                .description("Requests rejected by admission control")
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
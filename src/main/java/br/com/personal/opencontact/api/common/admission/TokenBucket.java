@@ -0,0 +1,45 @@
+package br.com.personal.opencontact.api.common.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, refilled at {@code ratePerSecond} up to {@code burst} tokens.
+ * <p>
+ * Implemented as a generic cell rate algorithm: the whole state is the theoretical arrival time of the next
+ * request, so taking a token is a single compare-and-set and refilling needs no timer.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("The rate must be positive.");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.burstNanos = emissionIntervalNanos * Math.max(1, burst);
+    }
+
+    /**
+     * Takes a token if one is available at {@code nowNanos}.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return {@code 0} if a token was taken, otherwise how many nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
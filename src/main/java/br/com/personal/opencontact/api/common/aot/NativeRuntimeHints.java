@@ -0,0 +1,61 @@
+package br.com.personal.opencontact.api.common.aot;
+
+import br.com.personal.opencontact.api.agenda.Agenda;
+import br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import br.com.personal.opencontact.api.common.id.UuidV7Generator;
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.dto.ContactChangesResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reflection and resource hints that Spring AOT cannot infer, needed by the native image.
+ * <p>
+ * Request and response bodies of the controllers are registered by Spring itself; this covers what is reached
+ * reflectively from elsewhere: entity accessors generated by Lombok and used by auditing, Hibernate's UUID
+ * generator, the DTOs built by JPQL and criteria constructor expressions, the Jackson types written or read
+ * outside handler signatures (SSE events, NDJSON import and export), the JDK proxies wrapping JDBC connections
+ * and statements, and the Liquibase changelog files.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(Agenda.class, Contact.class);
+
+    private static final List<Class<?>> CONSTRUCTOR_EXPRESSIONS = List.of(
+            AgendaResponseDTO.class, ContactResponseDTO.class, ContactSuggestionDTO.class, ResourceVersion.class);
+
+    private static final List<Class<?>> JDBC_PROXIES = List.of(
+            ConnectionProxy.class, Statement.class, PreparedStatement.class, CallableStatement.class);
+
+    private static final List<Class<?>> JSON_OUTSIDE_HANDLERS = List.of(
+            ContactChangesResponseDTO.class, ContactCreateDTO.class, ContactResponseDTO.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS));
+        hints.reflection().registerType(UuidV7Generator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        CONSTRUCTOR_EXPRESSIONS.forEach(type ->
+                hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JSON_OUTSIDE_HANDLERS.toArray(Class<?>[]::new));
+
+        JDBC_PROXIES.forEach(type -> hints.proxies().registerJdkProxy(type));
+
+        hints.resources().registerPattern("db/changelog/**");
+    }
+}
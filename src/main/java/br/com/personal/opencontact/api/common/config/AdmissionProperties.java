@@ -0,0 +1,64 @@
+package br.com.personal.opencontact.api.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of the admission control applied to API requests before they reach the controllers.
+ *
+ * @param enabled           whether requests are rate limited and shed at all
+ * @param clientIdHeader    header identifying the client, only read on requests coming from {@code trustedProxies}
+ * @param trustedProxies    addresses of the gateways trusted to set {@code clientIdHeader}; other requests, and those
+ *                          without the header, are keyed on their remote address, so that clients cannot pick their bucket
+ * @param maxBuckets        maximum number of rate limit buckets kept in memory
+ * @param bucketIdleTimeout how long an unused bucket is kept, a new one starts full
+ * @param retryAfter        {@code Retry-After} sent with {@code 503} responses when the pool is saturated
+ * @param defaults          limits of the routes not listed in {@code routes}
+ * @param routes            limits of specific routes, by name; the first matching route applies
+ */
+@ConfigurationProperties(prefix = "opencontact.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Client-Id") String clientIdHeader,
+        Set<String> trustedProxies,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue("10m") Duration bucketIdleTimeout,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue Route defaults,
+        Map<String, Route> routes
+) {
+
+    public AdmissionProperties {
+        trustedProxies = trustedProxies == null ? Set.of() : trustedProxies;
+        routes = routes == null ? Map.of() : routes;
+    }
+
+    /**
+     * @param path                  the handler path pattern, as declared in the controller (ex.: {@code /agendas/{agendaId}/contacts})
+     * @param method                the HTTP method, or {@code null} for any
+     * @param rate                  requests per second allowed per agenda and client; {@code 0} disables rate limiting
+     * @param burst                 requests allowed at once on top of the rate; {@code 0} allows one second of rate
+     * @param maxPendingConnections threads waiting for a database connection above which requests are shed
+     *                              with {@code 503}; {@code -1} disables shedding
+     */
+    public record Route(
+            String path,
+            String method,
+            @DefaultValue("0") double rate,
+            @DefaultValue("0") int burst,
+            @DefaultValue("-1") int maxPendingConnections
+    ) {
+
+        public boolean matches(String requestMethod, String pattern) {
+            return (path == null || path.equals(pattern)) && (method == null || method.equalsIgnoreCase(requestMethod));
+        }
+
+        public int effectiveBurst() {
+            return burst > 0 ? burst : (int) Math.ceil(rate);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.personal.opencontact.api.common.config;
+
+import br.com.personal.opencontact.api.contact.ContactService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches needing another spec than the shared {@code spring.cache.caffeine.spec}.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> phoneLookupCacheCustomizer(PhoneLookupCacheProperties properties) {
+        return cacheManager -> cacheManager.registerCustomCache(ContactService.PHONE_CACHE_NAME,
+                Caffeine.from(properties.cacheSpec()).build());
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.personal.opencontact.api.common.config;
+
+import br.com.personal.opencontact.api.common.jdbc.ConcurrencyGatedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * When requests run on virtual threads ({@code spring.threads.virtual.enabled=true}), nothing bounds how many
+ * of them reach the connection pool at once. This wraps the pool in a {@link ConcurrencyGatedDataSource}
+ * sized to it, so excess requests queue cheaply instead of timing out on connection acquisition.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DatabaseGateConfig {
+
+    @Bean
+    static BeanPostProcessor databaseGatePostProcessor(ObjectProvider<DatabaseGateProperties> properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DatabaseGatePostProcessor(properties, meterRegistry);
+    }
+
+    /**
+     * Ordered first among the data source post processors, so that it sees the pool itself before the others wrap it.
+     */
+    private record DatabaseGatePostProcessor(ObjectProvider<DatabaseGateProperties> properties,
+                                             ObjectProvider<MeterRegistry> meterRegistry) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                return bean;
+            }
+            DatabaseGateProperties gate = properties.getObject();
+            int maxConcurrency = gate.maxConcurrency() > 0
+                    ? gate.maxConcurrency()
+                    : hikariDataSource.getMaximumPoolSize();
+            return new ConcurrencyGatedDataSource(hikariDataSource, maxConcurrency, gate.acquireTimeout(),
+                    meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
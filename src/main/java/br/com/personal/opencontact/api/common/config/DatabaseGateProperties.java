@@ -0,0 +1,19 @@
+package br.com.personal.opencontact.api.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the database concurrency gate used in virtual-thread mode.
+ *
+ * @param maxConcurrency maximum connections checked out at once; {@code 0} uses the Hikari maximum pool size
+ * @param acquireTimeout how long a request may wait for a permit before failing
+ */
+@ConfigurationProperties(prefix = "opencontact.datasource.gate")
+public record DatabaseGateProperties(
+        @DefaultValue("0") int maxConcurrency,
+        @DefaultValue("30s") Duration acquireTimeout
+) {
+}
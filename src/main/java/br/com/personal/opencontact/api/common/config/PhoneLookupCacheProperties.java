@@ -0,0 +1,15 @@
+package br.com.personal.opencontact.api.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the hot-number cache in front of the reverse phone lookup.
+ *
+ * @param cacheSpec Caffeine spec of the cache; its expiry bounds how long a changed or deleted phone may still resolve
+ */
+@ConfigurationProperties(prefix = "opencontact.contacts.phone-lookup")
+public record PhoneLookupCacheProperties(
+        @DefaultValue("maximumSize=100000,expireAfterWrite=30s,recordStats") String cacheSpec
+) {
+}
@@ -0,0 +1,110 @@
+package br.com.personal.opencontact.api.common.config;
+
+import br.com.personal.opencontact.api.common.jdbc.ReplicaRoutingContext;
+import br.com.personal.opencontact.api.common.jdbc.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * When {@code opencontact.datasource.replica.enabled=true}, wraps the primary data source in a
+ * {@link ReplicaRoutingDataSource} sending read-only transactions to the replica.
+ * <p>
+ * Routing happens when a transaction takes its connection, so it requires {@code spring.jpa.open-in-view=false}:
+ * otherwise the first connection of a request would be held, and reused by its later transactions.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "opencontact.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String REPLICA_POOL_NAME = "replica";
+
+    @Bean
+    static ReadReplicaPostProcessor readReplicaPostProcessor(ObjectProvider<ReadReplicaProperties> properties,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReadReplicaPostProcessor(properties, meterRegistry);
+    }
+
+    @Bean
+    OncePerRequestFilter replicaRoutingContextFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                    throws ServletException, IOException {
+                ReplicaRoutingContext.begin();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    ReplicaRoutingContext.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Ordered after the database gate, which must see the pool itself, and before unordered post processors.
+     */
+    static class ReadReplicaPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final ObjectProvider<ReadReplicaProperties> properties;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private HikariDataSource replica;
+
+        ReadReplicaPostProcessor(ObjectProvider<ReadReplicaProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.properties = properties;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            ReadReplicaProperties replicaProperties = properties.getObject();
+            replica = createReplica(replicaProperties);
+            return new ReplicaRoutingDataSource(primary, replica, replicaProperties.retryInterval());
+        }
+
+        private HikariDataSource createReplica(ReadReplicaProperties replicaProperties) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(REPLICA_POOL_NAME);
+            dataSource.setJdbcUrl(replicaProperties.url());
+            dataSource.setUsername(replicaProperties.username());
+            dataSource.setPassword(replicaProperties.password());
+            dataSource.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            dataSource.setConnectionTimeout(replicaProperties.connectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            // Start even when the replica is down, reads fall back to the primary meanwhile
+            dataSource.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            return dataSource;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            if (replica != null) {
+                replica.close();
+            }
+        }
+    }
+}
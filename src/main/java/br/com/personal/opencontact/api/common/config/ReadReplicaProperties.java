@@ -0,0 +1,29 @@
+package br.com.personal.opencontact.api.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the optional read replica receiving the read-only transactions.
+ *
+ * @param enabled           whether read-only transactions are routed to the replica
+ * @param url               JDBC URL of the replica
+ * @param username          login username of the replica
+ * @param password          login password of the replica
+ * @param maximumPoolSize   maximum number of connections kept to the replica
+ * @param connectionTimeout how long to wait for a replica connection before falling back to the primary
+ * @param retryInterval     how long reads stay on the primary after the replica failed to provide a connection
+ */
+@ConfigurationProperties(prefix = "opencontact.datasource.replica")
+public record ReadReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("10s") Duration retryInterval
+) {
+}
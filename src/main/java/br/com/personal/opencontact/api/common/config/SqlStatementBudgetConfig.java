@@ -0,0 +1,42 @@
+package br.com.personal.opencontact.api.common.config;
+
+import br.com.personal.opencontact.api.common.jdbc.SqlStatementBudgetFilter;
+import br.com.personal.opencontact.api.common.jdbc.StatementCountingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the SQL statements of each request, see {@link SqlStatementBudgetFilter}, unless
+ * {@code opencontact.datasource.statements.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "opencontact.datasource.statements", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementBudgetConfig {
+
+    /**
+     * Unordered, so that it runs after the ordered gate and replica routing post processors and wraps the data
+     * source last: statements are then counted whichever pool their connection came from.
+     */
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return new StatementCountingDataSource(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    SqlStatementBudgetFilter sqlStatementBudgetFilter(SqlStatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        return new SqlStatementBudgetFilter(properties.maxStatements(), properties.maxTime(), meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.personal.opencontact.api.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the per-request SQL statement instrumentation.
+ *
+ * @param enabled       whether statements are counted at all
+ * @param maxStatements statements a request may run before it is logged as over budget
+ * @param maxTime       database time a request may take before it is logged as over budget
+ */
+@ConfigurationProperties(prefix = "opencontact.datasource.statements")
+public record SqlStatementBudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int maxStatements,
+        @DefaultValue("500ms") Duration maxTime
+) {
+}
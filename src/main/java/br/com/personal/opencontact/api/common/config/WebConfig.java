@@ -1,15 +1,22 @@
 package br.com.personal.opencontact.api.common.config;
 
+import br.com.personal.opencontact.api.common.admission.AdmissionControlInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AdmissionProperties admissionProperties;
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         PageableHandlerMethodArgumentResolver pageableResolver = new PageableHandlerMethodArgumentResolver();
@@ -19,4 +26,11 @@ public class WebConfig implements WebMvcConfigurer {
 
         resolvers.add(pageableResolver);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (admissionProperties.enabled()) {
+            registry.addInterceptor(admissionControlInterceptor);
+        }
+    }
 }
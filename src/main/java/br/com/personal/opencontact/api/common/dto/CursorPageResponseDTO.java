@@ -0,0 +1,30 @@
+package br.com.personal.opencontact.api.common.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponseDTO<T>(
+        List<T> content,
+        int pageSize,
+        String next
+) {
+
+    /**
+     * Factory method to create a CursorPageResponseDTO from a Spring Data Slice object.
+     * The {@code next} cursor is derived from the last element and is {@code null} on the last slice.
+     *
+     * @param slice           the slice object to be converted
+     * @param cursorExtractor function producing the cursor that points right after the given element
+     * @return a CursorPageResponseDTO with the data from the slice object
+     */
+    public static <T> CursorPageResponseDTO<T> fromSlice(Slice<T> slice, Function<T, String> cursorExtractor) {
+        List<T> content = slice.getContent();
+        String next = slice.hasNext() && !content.isEmpty()
+                ? cursorExtractor.apply(content.get(content.size() - 1))
+                : null;
+
+        return new CursorPageResponseDTO<>(content, slice.getSize(), next);
+    }
+}
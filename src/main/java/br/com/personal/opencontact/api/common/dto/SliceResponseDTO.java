@@ -0,0 +1,28 @@
+package br.com.personal.opencontact.api.common.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public record SliceResponseDTO<T>(
+        List<T> content,
+        int currentPage,
+        int pageSize,
+        boolean hasNext
+) {
+
+    /**
+     * Factory method to create a SliceResponseDTO from a Spring Data Slice object.
+     *
+     * @param slice the slice object to be converted
+     * @return a SliceResponseDTO with the data from the slice object
+     */
+    public static <T> SliceResponseDTO<T> fromSlice(Slice<T> slice) {
+        return new SliceResponseDTO<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext()
+        );
+    }
+}
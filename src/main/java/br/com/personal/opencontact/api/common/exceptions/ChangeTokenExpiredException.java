@@ -0,0 +1,15 @@
+package br.com.personal.opencontact.api.common.exceptions;
+
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    private final long latestToken;
+
+    public ChangeTokenExpiredException(String message, long latestToken) {
+        super(message);
+        this.latestToken = latestToken;
+    }
+
+    public long getLatestToken() {
+        return latestToken;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.personal.opencontact.api.common.http;
+
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Version of a resource or of a collection of resources, used to answer conditional GETs without
+ * loading and serializing the entities themselves.
+ *
+ * @param lastModified the most recent {@code updatedAt} of the resources, or {@code null} if there are none
+ * @param count the number of resources
+ * @param idsHash a hash of the ids of the resources, in order, when the version is computed from a loaded slice,
+ *                see {@link #ofSlice}, or {@code 0}
+ */
+public record ResourceVersion(LocalDateTime lastModified, long count, int idsHash) {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Version of a collection aggregated by the database, without its ids.
+     */
+    public ResourceVersion(LocalDateTime lastModified, long count) {
+        this(lastModified, count, 0);
+    }
+
+    public static ResourceVersion of(LocalDateTime lastModified) {
+        return new ResourceVersion(lastModified, 1);
+    }
+
+    /**
+     * Version of an already loaded slice: besides the latest update of its rows, it changes when a row is added,
+     * removed or replaced by another one moving into the slice, and when a next slice appears or disappears.
+     */
+    public static <T> ResourceVersion ofSlice(Slice<T> slice, Function<T, ?> id, Function<T, LocalDateTime> updatedAt) {
+        List<T> rows = slice.getContent();
+        LocalDateTime lastModified = rows.stream()
+                .map(updatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        int idsHash = 31 * rows.stream().map(id).toList().hashCode() + Boolean.hashCode(slice.hasNext());
+        return new ResourceVersion(lastModified, rows.size(), idsHash);
+    }
+
+    /**
+     * Returns a strong entity tag changing whenever a resource is modified, added or removed.
+     */
+    public String eTag() {
+        long micros = lastModified == null ? 0 : ChronoUnit.MICROS.between(EPOCH, lastModified);
+        String ids = idsHash == 0 ? "" : "-" + Integer.toHexString(idsHash);
+        return "\"" + count + "-" + Long.toHexString(micros) + ids + "\"";
+    }
+
+    /**
+     * Returns the value of the {@code Last-Modified} header in epoch milliseconds, or {@code -1} if there is none.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.personal.opencontact.api.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): a 48-bit Unix timestamp in milliseconds, a 12-bit counter
+ * and 62 random bits. Consecutive ids land next to each other in B-tree indexes, instead of scattering inserts
+ * across the whole index like random version 4 ids do. Both versions share the {@code uuid} column type, so
+ * existing version 4 ids remain valid.
+ * <p>
+ * The counter keeps ids generated by this JVM strictly increasing within the same millisecond; when it overflows,
+ * the timestamp is advanced by one millisecond.
+ * <p>
+ * Plugged into Hibernate with {@code @UuidGenerator(algorithm = UuidV7Generator.class)}, and usable directly
+ * through {@link #generate()} where ids are assigned by hand.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    public static UUID generate() {
+        long candidate = System.currentTimeMillis() << COUNTER_BITS;
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(candidate, last + 1));
+
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        long mostSignificantBits = timestamp << 16 | 0x7000L | counter;
+        long leastSignificantBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return generate();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Reports how many threads are waiting for a connection of the primary pool, including those parked on the
+ * {@link ConcurrencyGatedDataSource} in front of it, looking through the data source wrappers.
+ */
+@Component
+public class ConnectionPoolPressure {
+
+    private final HikariDataSource pool;
+    private final ConcurrencyGatedDataSource gate;
+
+    public ConnectionPoolPressure(DataSource dataSource) {
+        this.pool = unwrap(dataSource, HikariDataSource.class);
+        this.gate = unwrap(dataSource, ConcurrencyGatedDataSource.class);
+    }
+
+    /**
+     * @return the number of threads waiting for a connection, {@code 0} when the pool is not known or not started
+     */
+    public int pendingConnections() {
+        int pending = gate == null ? 0 : gate.getQueueLength();
+        HikariPoolMXBean poolBean = pool == null ? null : pool.getHikariPoolMXBean();
+        return poolBean == null ? pending : pending + poolBean.getThreadsAwaitingConnection();
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
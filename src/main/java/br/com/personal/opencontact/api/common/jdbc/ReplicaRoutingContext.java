@@ -0,0 +1,34 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+/**
+ * Remembers, for the request running on the current thread, whether it already took a read-write connection
+ * of the primary. Its later read-only transactions then stay on the primary, so that the request reads its own
+ * writes instead of a replica that may lag behind.
+ * <p>
+ * Only tracked between {@link #begin()} and {@link #end()}, so that pooled threads never carry it over.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> WROTE_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void begin() {
+        WROTE_TO_PRIMARY.set(Boolean.FALSE);
+    }
+
+    public static void end() {
+        WROTE_TO_PRIMARY.remove();
+    }
+
+    static void markWroteToPrimary() {
+        if (WROTE_TO_PRIMARY.get() != null) {
+            WROTE_TO_PRIMARY.set(Boolean.TRUE);
+        }
+    }
+
+    static boolean wroteToPrimary() {
+        return Boolean.TRUE.equals(WROTE_TO_PRIMARY.get());
+    }
+}
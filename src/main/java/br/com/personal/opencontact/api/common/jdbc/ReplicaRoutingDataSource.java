@@ -0,0 +1,64 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary.
+ * <p>
+ * Connections are handed out as {@link LazyConnectionDataSourceProxy lazy proxies}: the physical connection is
+ * only taken when the first statement runs, after the transaction marked it read-only. Read-only connections
+ * still come from the primary when the current request already wrote to it (see {@link ReplicaRoutingContext}),
+ * or for {@code retryInterval} after the replica failed to provide a connection.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration retryInterval) {
+        super(new WriteTrackingDataSource(primary));
+        setReadOnlyDataSource(new ReplicaFallbackDataSource(replica, primary, retryInterval));
+    }
+
+    private static class WriteTrackingDataSource extends DelegatingDataSource {
+
+        WriteTrackingDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ReplicaRoutingContext.markWroteToPrimary();
+            return super.getConnection();
+        }
+    }
+
+    static class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+        private final DataSource primary;
+        private final long retryIntervalNanos;
+        private volatile long replicaUnavailableUntil = System.nanoTime();
+
+        ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryInterval) {
+            super(replica);
+            this.primary = primary;
+            this.retryIntervalNanos = retryInterval.toNanos();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (ReplicaRoutingContext.wroteToPrimary() || System.nanoTime() - replicaUnavailableUntil < 0) {
+                return primary.getConnection();
+            }
+            try {
+                return super.getConnection();
+            } catch (SQLException ex) {
+                replicaUnavailableUntil = System.nanoTime() + retryIntervalNanos;
+                return primary.getConnection();
+            }
+        }
+    }
+}
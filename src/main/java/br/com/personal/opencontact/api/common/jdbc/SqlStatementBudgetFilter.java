@@ -0,0 +1,146 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import br.com.personal.opencontact.api.common.jdbc.SqlStatementContext.SqlStatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements run by each request, and the time the database took to run them.
+ * <ul>
+ *     <li>They are sent back in the {@code X-SQL-Statements} and {@code Server-Timing} ({@code db;dur=<ms>}) headers,
+ *     as of when the response is committed, which for streamed responses is before the streaming queries end;</li>
+ *     <li>they are recorded in {@code opencontact.sql.statements} and {@code opencontact.sql.time}, tagged with the
+ *     method, the route and whether the request stayed within budget;</li>
+ *     <li>requests running more than {@code maxStatements} statements, or taking more than {@code maxTime} in the
+ *     database, are logged, which usually points at an N+1 query.</li>
+ * </ul>
+ */
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final int maxStatements;
+    private final Duration maxTime;
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementBudgetFilter(int maxStatements, Duration maxTime, MeterRegistry meterRegistry) {
+        this.maxStatements = maxStatements;
+        this.maxTime = maxTime;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementContext.begin();
+        var reportingResponse = new StatisticsHeaderResponse(response);
+        try {
+            filterChain.doFilter(request, reportingResponse);
+            reportingResponse.writeHeaders();
+        } finally {
+            record(request, SqlStatementContext.end());
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStatistics statistics) {
+        boolean overBudget = statistics.statements() > maxStatements || statistics.time().compareTo(maxTime) > 0;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+        String budget = overBudget ? "exceeded" : "within";
+
+        DistributionSummary.builder("opencontact.sql.statements")
+                .description("SQL statements run per request")
+                .tags("method", request.getMethod(), "uri", route, "budget", budget)
+                .register(meterRegistry)
+                .record(statistics.statements());
+        Timer.builder("opencontact.sql.time")
+                .description("Database time spent per request")
+                .tags("method", request.getMethod(), "uri", route, "budget", budget)
+                .register(meterRegistry)
+                .record(statistics.time());
+
+        if (overBudget) {
+            log.warn("{} {} ran {} SQL statements in {} ms, over the budget of {} statements in {} ms",
+                    request.getMethod(), request.getRequestURI(), statistics.statements(), statistics.time().toMillis(),
+                    maxStatements, maxTime.toMillis());
+        }
+    }
+
+    /**
+     * Adds the statistics headers right before the response is committed, after which they could no longer be set.
+     */
+    private static final class StatisticsHeaderResponse extends HttpServletResponseWrapper {
+
+        private boolean headersWritten;
+
+        private StatisticsHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            SqlStatementStatistics statistics = SqlStatementContext.current();
+            setHeader(STATEMENTS_HEADER, String.valueOf(statistics.statements()));
+            addHeader(SERVER_TIMING_HEADER,
+                    String.format(Locale.ROOT, "db;dur=%.1f", statistics.time().toNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
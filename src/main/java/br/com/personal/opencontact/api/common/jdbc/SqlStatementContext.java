@@ -0,0 +1,63 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import java.time.Duration;
+
+/**
+ * Tallies the SQL statements run by the request on the current thread, and the time the database took to run them,
+ * as measured by {@link StatementCountingDataSource}.
+ * <p>
+ * Only tracked between {@link #begin()} and {@link #end()}, so that pooled threads never carry it over. Statements
+ * run by background jobs, or by other threads on behalf of the request, are not counted.
+ */
+public final class SqlStatementContext {
+
+    private static final ThreadLocal<Tally> TALLY = new ThreadLocal<>();
+
+    private SqlStatementContext() {
+    }
+
+    public static void begin() {
+        TALLY.set(new Tally());
+    }
+
+    /**
+     * Stops tracking the current thread.
+     *
+     * @return what was run since {@link #begin()}
+     */
+    public static SqlStatementStatistics end() {
+        SqlStatementStatistics statistics = current();
+        TALLY.remove();
+        return statistics;
+    }
+
+    /**
+     * Returns what was run since {@link #begin()} so far, or nothing when the current thread is not tracked.
+     */
+    public static SqlStatementStatistics current() {
+        Tally tally = TALLY.get();
+        return tally != null
+                ? new SqlStatementStatistics(tally.statements, Duration.ofNanos(tally.nanos))
+                : new SqlStatementStatistics(0, Duration.ZERO);
+    }
+
+    static void record(long nanos) {
+        Tally tally = TALLY.get();
+        if (tally != null) {
+            tally.statements++;
+            tally.nanos += nanos;
+        }
+    }
+
+    private static final class Tally {
+        private int statements;
+        private long nanos;
+    }
+
+    /**
+     * @param statements the number of statements, a JDBC batch counting as one
+     * @param time       the time spent executing them, not including reading their result sets
+     */
+    public record SqlStatementStatistics(int statements, Duration time) {
+    }
+}
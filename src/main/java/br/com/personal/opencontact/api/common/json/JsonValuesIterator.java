@@ -0,0 +1,64 @@
+package br.com.personal.opencontact.api.common.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads a sequence of JSON values from a stream, either wrapped in a JSON array
+ * or as whitespace/newline separated values (NDJSON), without buffering the whole payload.
+ * <p>
+ * Malformed input surfaces as an {@link IllegalArgumentException} pointing at the offending value.
+ */
+public class JsonValuesIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final MappingIterator<T> values;
+    private int index;
+
+    public JsonValuesIterator(ObjectReader reader, InputStream inputStream) throws IOException {
+        this.values = reader.readValues(inputStream);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return values.hasNextValue();
+        } catch (IOException ex) {
+            throw malformed(ex);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            T value = values.nextValue();
+            index++;
+            return value;
+        } catch (IOException ex) {
+            throw malformed(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            values.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private IllegalArgumentException malformed(IOException ex) {
+        String reason = ex instanceof JsonProcessingException jsonEx ? jsonEx.getOriginalMessage() : ex.getMessage();
+        return new IllegalArgumentException("Malformed JSON value at index " + index + ": " + reason, ex);
+    }
+}
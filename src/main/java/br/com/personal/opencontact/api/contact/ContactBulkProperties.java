@@ -0,0 +1,21 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits of the bulk contact endpoints.
+ *
+ * @param maxRows   maximum number of contacts accepted in a single import request
+ * @param batchSize number of rows sent to the database per insert statement
+ * @param maxIds    maximum number of ids accepted in a single batch get request
+ * @param deleteBatchSize number of rows removed per transaction by the prefix delete
+ */
+@ConfigurationProperties(prefix = "opencontact.contacts.bulk")
+public record ContactBulkProperties(
+        @DefaultValue("10000") int maxRows,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1000") int maxIds,
+        @DefaultValue("1000") int deleteBatchSize
+) {
+}
@@ -0,0 +1,69 @@
+package br.com.personal.opencontact.api.contact;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts contact cache entries whose keys are only known inside a method, such as the previous phone of an
+ * updated contact or the contacts deleted by name prefix, where {@code @CacheEvict} cannot reach them.
+ * Entries are evicted once the current transaction, if any, commits, so that a concurrent read cannot cache
+ * the state being replaced again.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContactCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Returns the key of a phone in the {@link ContactService#PHONE_CACHE_NAME} cache, as used by
+     * {@link ContactService#findAllByPhone}.
+     */
+    public static String phoneKey(String areaCode, String phoneNumber) {
+        return areaCode + ':' + phoneNumber;
+    }
+
+    public void evictPhoneAfterCommit(String areaCode, String phoneNumber) {
+        evictPhonesAfterCommit(List.of(phoneKey(areaCode, phoneNumber)));
+    }
+
+    /**
+     * @param phoneKeys the keys of the phones to evict, see {@link #phoneKey}
+     */
+    public void evictPhonesAfterCommit(Collection<String> phoneKeys) {
+        evictAfterCommit(ContactService.PHONE_CACHE_NAME, phoneKeys);
+    }
+
+    /**
+     * @param ids the ids of the contacts to evict from the {@link ContactService#CACHE_NAME} cache
+     */
+    public void evictContactsAfterCommit(Collection<UUID> ids) {
+        evictAfterCommit(ContactService.CACHE_NAME, ids);
+    }
+
+    private void evictAfterCommit(String cacheName, Collection<?> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (keys.isEmpty() || cache == null) {
+            return;
+        }
+        Runnable evict = () -> keys.forEach(cache::evict);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+}
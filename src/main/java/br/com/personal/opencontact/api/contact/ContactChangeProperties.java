@@ -0,0 +1,27 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the contact change feed.
+ *
+ * @param maxPageSize   maximum number of changes returned by a single request
+ * @param pollInterval  how often live streams look for new changes
+ * @param streamTimeout how long a live stream stays open before the client has to reconnect
+ * @param retention      how long changes are kept, older tokens have to be resynced with a full export
+ * @param purgeBatchSize maximum number of changes deleted per transaction when purging
+ * @param purgeInterval  how often changes past the retention are purged
+ */
+@ConfigurationProperties(prefix = "opencontact.contacts.changes")
+public record ContactChangeProperties(
+        @DefaultValue("1000") int maxPageSize,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("30m") Duration streamTimeout,
+        @DefaultValue("30d") Duration retention,
+        @DefaultValue("10000") int purgeBatchSize,
+        @DefaultValue("1h") Duration purgeInterval
+) {
+}
@@ -0,0 +1,68 @@
+package br.com.personal.opencontact.api.contact;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes the contact changes older than {@link ContactChangeProperties#retention()} every
+ * {@link ContactChangeProperties#purgeInterval()}, in batches of {@link ContactChangeProperties#purgeBatchSize()}
+ * rows, each committed on its own, so that the change log does not grow forever.
+ * <p>
+ * Tokens of an agenda from before its purged changes are rejected afterward. Running it on several instances is
+ * safe: the batches delete disjoint or already deleted rows and the purged seq of each agenda only moves forward.
+ */
+@Slf4j
+@Component
+public class ContactChangePurger implements DisposableBean {
+
+    private final ContactChangeRepository contactChangeRepository;
+    private final ContactChangeProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("contact-change-purger").daemon().factory());
+
+    public ContactChangePurger(ContactChangeRepository contactChangeRepository, ContactChangeProperties properties) {
+        this.contactChangeRepository = contactChangeRepository;
+        this.properties = properties;
+        long interval = properties.purgeInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the number of deleted changes
+     */
+    long purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        int batchSize = properties.purgeBatchSize();
+
+        long purged = 0;
+        int batch;
+        do {
+            batch = contactChangeRepository.purgeBefore(cutoff, batchSize);
+            purged += batch;
+        } while (batch == batchSize);
+        return purged;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void purgeSafely() {
+        try {
+            long purged = purge();
+            if (purged > 0) {
+                log.info("Purged {} contact changes older than {}", purged, properties.retention());
+            }
+        } catch (RuntimeException ex) {
+            // Keep the schedule alive, the next run picks up where this one stopped
+            log.warn("Failed to purge the contact changes", ex);
+        }
+    }
+}
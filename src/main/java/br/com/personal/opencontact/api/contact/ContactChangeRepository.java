@@ -0,0 +1,126 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.dto.ContactChangeDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to the contact change log, written by the {@code contact_changes_record} database trigger.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContactChangeRepository {
+
+    private static final String FIND_CHANGES = """
+            SELECT ch.seq, ch.operation, ch.contact_id,
+                   c.name, c.type, c.area_code, c.phone_number, c.created_at, c.updated_at
+            FROM contact_changes ch
+            LEFT JOIN contacts c ON c.id = ch.contact_id AND ch.operation <> 'DELETED'
+            WHERE ch.agenda_id = ? AND ch.seq > ?
+            ORDER BY ch.seq
+            LIMIT ?
+            """;
+
+    // A single statement, so that readers never see the changes gone but the purged seq not raised
+    private static final String PURGE_CHANGES = """
+            WITH purged AS (
+                DELETE FROM contact_changes
+                WHERE seq IN (SELECT seq FROM contact_changes WHERE changed_at < ? ORDER BY seq LIMIT ?)
+                RETURNING agenda_id, seq
+            ), raised AS (
+                INSERT INTO contact_change_retention (agenda_id, purged_through)
+                SELECT agenda_id, max(seq) FROM purged GROUP BY agenda_id
+                ON CONFLICT (agenda_id) DO UPDATE
+                SET purged_through = GREATEST(contact_change_retention.purged_through, EXCLUDED.purged_through)
+            )
+            SELECT count(*) FROM purged
+            """;
+
+    private static final String FIND_BOUNDS = """
+            SELECT (SELECT coalesce(max(purged_through), 0) FROM contact_change_retention WHERE agenda_id = ?) AS purged_through,
+                   (SELECT coalesce(max(seq), 0) FROM contact_changes WHERE agenda_id = ?) AS latest_seq
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the changes of the agenda with the given {@code agendaId} recorded after {@code since}, oldest first.
+     * Creations and updates carry the current state of the contact, or no contact if it has been deleted since.
+     *
+     * @param agendaId the id of the agenda
+     * @param since the seq of the last change already seen, {@code 0} to read from the beginning
+     * @param limit the maximum number of changes to return
+     * @return the changes recorded after {@code since}
+     */
+    public List<ContactChangeDTO> findChanges(UUID agendaId, long since, int limit) {
+        return jdbcTemplate.query(FIND_CHANGES, ContactChangeRepository::mapChange, agendaId, since, limit);
+    }
+
+    /**
+     * Returns the highest seq purged and the latest seq retained of the agenda with the given {@code agendaId}.
+     *
+     * @param agendaId the id of the agenda
+     * @return the bounds of the change log of the agenda, {@code 0} when nothing was purged or nothing is retained
+     */
+    public Bounds findBounds(UUID agendaId) {
+        return jdbcTemplate.queryForObject(FIND_BOUNDS,
+                (rs, rowNum) -> new Bounds(rs.getLong("purged_through"), rs.getLong("latest_seq")), agendaId, agendaId);
+    }
+
+    /**
+     * Deletes up to {@code limit} of the oldest changes recorded before {@code cutoff}, raising the purged seq
+     * of their agendas accordingly.
+     *
+     * @param cutoff the time before which changes are purged
+     * @param limit the maximum number of changes to delete
+     * @return the number of deleted changes
+     */
+    public int purgeBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForObject(PURGE_CHANGES, Integer.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    private static ContactChangeDTO mapChange(ResultSet rs, int rowNum) throws SQLException {
+        UUID contactId = rs.getObject("contact_id", UUID.class);
+        ContactResponseDTO contact = rs.getString("name") == null ? null : new ContactResponseDTO(
+                contactId,
+                rs.getString("name"),
+                ContactType.valueOf(rs.getString("type")),
+                rs.getString("area_code"),
+                rs.getString("phone_number"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getTimestamp("updated_at").toLocalDateTime()
+        );
+        return new ContactChangeDTO(
+                rs.getLong("seq"),
+                ContactChangeDTO.Operation.valueOf(rs.getString("operation")),
+                contactId,
+                contact
+        );
+    }
+
+    /**
+     * The bounds of the change log of an agenda.
+     *
+     * @param purgedThrough the highest seq purged, tokens below it are expired
+     * @param latestSeq the seq of the latest change retained
+     */
+    public record Bounds(long purgedThrough, long latestSeq) {
+
+        /**
+         * Returns the highest seq of the agenda seen so far, purged or not. Within an agenda changes commit in seq
+         * order, so no change at or below it can still appear and a client can safely resume from it.
+         */
+        public long highWaterMark() {
+            return Math.max(purgedThrough, latestSeq);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.common.exceptions.ChangeTokenExpiredException;
+import br.com.personal.opencontact.api.contact.dto.ContactChangeDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactChangeDTO.Operation;
+import br.com.personal.opencontact.api.contact.dto.ContactChangesResponseDTO;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ContactChangeService {
+
+    private final AgendaRepository agendaRepository;
+    private final ContactChangeRepository contactChangeRepository;
+    private final ContactChangeProperties properties;
+
+    /**
+     * Returns up to {@code limit} changes of the contacts of an agenda recorded after the {@code since} token.
+     * <p>
+     * Changes of the same contact are collapsed into the last one, keeping {@link Operation#CREATED} if the
+     * contact was created within the page. Creations and updates of contacts deleted since are left out,
+     * as their deletion follows.
+     * <p>
+     * Changes older than {@link ContactChangeProperties#retention()} are purged: a token from before the purged
+     * changes of the agenda is rejected with {@link ChangeTokenExpiredException}, and the client has to export the
+     * agenda again. When there are no new changes, the token moves to the high-water mark of the agenda, see
+     * {@link ContactChangeRepository.Bounds#highWaterMark()}.
+     * <p>
+     * The changes and the bounds of the change log are read from the same snapshot, so that a purge or a commit
+     * between the two reads can neither hide changes nor move the token past changes not returned.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ContactChangesResponseDTO findChanges(UUID agendaId, long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("The since token must not be negative.");
+        }
+        if (limit < 1 || limit > properties.maxPageSize()) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + properties.maxPageSize() + ".");
+        }
+        if (!agendaRepository.existsById(agendaId)) {
+            throw new EntityNotFoundException("Agenda not found with id: " + agendaId);
+        }
+
+        // Fetch one extra row to find out whether there are more changes
+        List<ContactChangeDTO> rows = contactChangeRepository.findChanges(agendaId, since, limit + 1);
+        ContactChangeRepository.Bounds bounds = contactChangeRepository.findBounds(agendaId);
+        if (since < bounds.purgedThrough()) {
+            throw new ChangeTokenExpiredException(
+                    "The since token has expired, export the agenda again and resume from the latest token.",
+                    bounds.highWaterMark());
+        }
+        boolean hasMore = rows.size() > limit;
+        List<ContactChangeDTO> page = hasMore ? rows.subList(0, limit) : rows;
+        long nextToken = page.isEmpty() ? bounds.highWaterMark() : page.getLast().seq();
+
+        Map<UUID, ContactChangeDTO> latestByContact = new LinkedHashMap<>();
+        for (ContactChangeDTO change : page) {
+            ContactChangeDTO previous = latestByContact.remove(change.contactId());
+            if (change.operation() != Operation.DELETED && change.contact() == null) {
+                continue;
+            }
+            if (previous != null && previous.operation() == Operation.CREATED && change.operation() == Operation.UPDATED) {
+                change = new ContactChangeDTO(change.seq(), Operation.CREATED, change.contactId(), change.contact());
+            }
+            latestByContact.put(change.contactId(), change);
+        }
+        return new ContactChangesResponseDTO(List.copyOf(latestByContact.values()), nextToken, hasMore);
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.dto.ContactChangesResponseDTO;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes the changes of an agenda's contacts to live Server-Sent Events streams.
+ * <p>
+ * A single thread polls the change log at {@link ContactChangeProperties#pollInterval()}. Streams of the same agenda
+ * at the same token share one read of the change log per poll, so that the database load grows with the number of
+ * watched agendas rather than of streams: streams of an agenda are at the same token once they have caught up.
+ * <p>
+ * Events are written to the clients by virtual threads, off the polling thread, so a slow client only delays its
+ * own stream: it is skipped by the polls happening while it is still being written to, and catches up afterward.
+ * Each page is sent as one {@code changes} event, whose id is the next token: a client reconnecting with
+ * {@code Last-Event-ID} resumes where it stopped. Streams with nothing new receive a comment, which also
+ * detects disconnected clients.
+ */
+@Service
+public class ContactChangeStreamService implements DisposableBean {
+
+    static final String EVENT_NAME = "changes";
+
+    private final ContactChangeService contactChangeService;
+    private final ContactChangeProperties properties;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("contact-change-stream").daemon().factory());
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("contact-change-stream-writer-", 0).factory());
+
+    public ContactChangeStreamService(ContactChangeService contactChangeService, ContactChangeProperties properties) {
+        this.contactChangeService = contactChangeService;
+        this.properties = properties;
+        long interval = properties.pollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::pollAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of the changes of an agenda recorded after the {@code since} token. The changes already
+     * available are sent right away, from the calling thread, before the stream is handed to the poller.
+     */
+    public SseEmitter subscribe(UUID agendaId, long since) throws IOException {
+        var subscription = new Subscription(agendaId, new SseEmitter(properties.streamTimeout().toMillis()), since);
+        send(subscription, fetch(agendaId, since));
+
+        subscription.emitter.onCompletion(() -> subscriptions.remove(subscription));
+        subscription.emitter.onTimeout(() -> subscriptions.remove(subscription));
+        subscription.emitter.onError(ex -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return subscription.emitter;
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+        writers.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    void pollAll() {
+        Map<StreamPosition, List<Subscription>> idleByPosition = subscriptions.stream()
+                .filter(subscription -> !subscription.writing.get())
+                .collect(Collectors.groupingBy(subscription -> new StreamPosition(subscription.agendaId, subscription.token)));
+
+        idleByPosition.forEach((position, group) -> {
+            List<ContactChangesResponseDTO> pages;
+            try {
+                pages = fetch(position.agendaId(), position.token());
+            } catch (RuntimeException ex) {
+                group.forEach(subscription -> {
+                    subscriptions.remove(subscription);
+                    subscription.emitter.completeWithError(ex);
+                });
+                return;
+            }
+            group.forEach(subscription -> write(subscription, pages));
+        });
+    }
+
+    private void write(Subscription subscription, List<ContactChangesResponseDTO> pages) {
+        if (!subscription.writing.compareAndSet(false, true)) {
+            return;
+        }
+        writers.execute(() -> {
+            try {
+                send(subscription, pages);
+            } catch (IOException ex) {
+                // The client is gone, the container completes the emitter
+                subscriptions.remove(subscription);
+            } catch (RuntimeException ex) {
+                subscriptions.remove(subscription);
+                subscription.emitter.completeWithError(ex);
+            } finally {
+                subscription.writing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reads every change available after {@code token}, one page at a time.
+     */
+    private List<ContactChangesResponseDTO> fetch(UUID agendaId, long token) {
+        List<ContactChangesResponseDTO> pages = new ArrayList<>();
+        ContactChangesResponseDTO changes;
+        do {
+            changes = contactChangeService.findChanges(agendaId, token, properties.maxPageSize());
+            pages.add(changes);
+            token = changes.nextToken();
+        } while (changes.hasMore());
+        return pages;
+    }
+
+    private static void send(Subscription subscription, List<ContactChangesResponseDTO> pages) throws IOException {
+        for (ContactChangesResponseDTO changes : pages) {
+            if (changes.changes().isEmpty() && !changes.hasMore()) {
+                subscription.emitter.send(SseEmitter.event().comment("no changes"));
+            } else {
+                subscription.emitter.send(SseEmitter.event()
+                        .name(EVENT_NAME)
+                        .id(String.valueOf(changes.nextToken()))
+                        .data(changes));
+            }
+            subscription.token = changes.nextToken();
+        }
+    }
+
+    private record StreamPosition(UUID agendaId, long token) {
+    }
+
+    private static final class Subscription {
+        private final UUID agendaId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private volatile long token;
+
+        private Subscription(UUID agendaId, SseEmitter emitter, long token) {
+            this.agendaId = agendaId;
+            this.emitter = emitter;
+            this.token = token;
+        }
+    }
+}
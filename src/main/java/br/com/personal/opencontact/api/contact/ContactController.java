@@ -1,21 +1,43 @@
 package br.com.personal.opencontact.api.contact;
 
+import br.com.personal.opencontact.api.common.dto.CursorPageResponseDTO;
 import br.com.personal.opencontact.api.common.dto.PageResponseDTO;
+import br.com.personal.opencontact.api.common.dto.SliceResponseDTO;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import br.com.personal.opencontact.api.common.json.JsonValuesIterator;
+import br.com.personal.opencontact.api.contact.dto.ContactBatchGetDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactBatchGetResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactBulkResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactChangesResponseDTO;
 import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactDeleteJobDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactDeleteResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateReportDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactPhoneMatchDTO;
 import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSearchHitDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO;
 import br.com.personal.opencontact.api.contact.dto.ContactUpdateDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 @RestController
 @RequestMapping
@@ -23,6 +45,12 @@ import java.util.UUID;
 public class ContactController {
 
     private final ContactService contactService;
+    private final ContactImportService contactImportService;
+    private final ContactDeleteJobService contactDeleteJobService;
+    private final ContactChangeService contactChangeService;
+    private final ContactChangeStreamService contactChangeStreamService;
+    private final ContactDuplicateService contactDuplicateService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/agendas/{agendaId}/contacts")
     public ResponseEntity<ContactResponseDTO> create(
@@ -38,23 +66,161 @@ public class ContactController {
         return ResponseEntity.created(location).body(ContactResponseDTO.fromEntity(newContact));
     }
 
+    /**
+     * Imports many contacts at once, from a JSON array or an NDJSON stream, reporting the outcome of each row.
+     */
+    @PostMapping(value = "/agendas/{agendaId}/contacts:bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ContactBulkResponseDTO> createBulk(@PathVariable UUID agendaId, InputStream body) throws IOException {
+        try (var rows = new JsonValuesIterator<ContactCreateDTO>(objectMapper.readerFor(ContactCreateDTO.class), body)) {
+            return ResponseEntity.ok(contactImportService.importContacts(agendaId, rows));
+        }
+    }
+
+    /**
+     * Fetches many contacts by id in a single query, reporting the ids that were not found.
+     */
+    @PostMapping("/contacts:batchGet")
+    public ResponseEntity<ContactBatchGetResponseDTO> batchGet(@RequestBody @Valid ContactBatchGetDTO batchGetDTO) {
+        var contacts = contactService.findAllById(batchGetDTO.ids());
+        return ResponseEntity.ok(ContactBatchGetResponseDTO.fromContacts(batchGetDTO.ids(), contacts));
+    }
+
     @GetMapping("/contacts/{id}")
-    public ResponseEntity<ContactResponseDTO> findById(@PathVariable UUID id) {
+    public ResponseEntity<ContactResponseDTO> findById(@PathVariable UUID id, WebRequest request) {
+        // Validators come from the (possibly cached) contact being returned, so they always match the body
         Contact contact = contactService.findById(id);
+        ResourceVersion version = ResourceVersion.of(contact.getUpdatedAt());
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null; // 304 Not Modified, already written along with the validators
+        }
+
         return ResponseEntity.ok(ContactResponseDTO.fromEntity(contact));
     }
 
+    /**
+     * Reverse phone lookup across every agenda, for caller identification.
+     */
+    @GetMapping("/contacts/by-phone/{areaCode}/{phoneNumber}")
+    public ResponseEntity<List<ContactPhoneMatchDTO>> findAllByPhone(@PathVariable String areaCode, @PathVariable String phoneNumber) {
+        List<ContactPhoneMatchDTO> matches = contactService.findAllByPhone(areaCode, phoneNumber).stream()
+                .map(ContactPhoneMatchDTO::fromEntity)
+                .toList();
+        return ResponseEntity.ok(matches);
+    }
+
+    /**
+     * Accent-insensitive full-text search of contact names across every agenda, ranked by relevance.
+     */
+    @GetMapping("/contacts/search")
+    public ResponseEntity<PageResponseDTO<ContactSearchHitDTO>> search(
+            @RequestParam String q,
+            @PageableDefault(size = 10) Pageable pageable
+    ) {
+        return ResponseEntity.ok(PageResponseDTO.fromPage(contactService.search(q, pageable)));
+    }
+
+    /**
+     * Typeahead: the contacts of an agenda having a name word starting with {@code prefix}, served from memory.
+     */
+    @GetMapping("/agendas/{agendaId}/contacts/suggest")
+    public ResponseEntity<List<ContactSuggestionDTO>> suggest(
+            @PathVariable UUID agendaId,
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(contactService.suggest(agendaId, prefix, limit));
+    }
+
     @GetMapping("/agendas/{agendaId}/contacts")
     public ResponseEntity<PageResponseDTO<ContactResponseDTO>> findAllByCriteria(
             @PathVariable UUID agendaId,
             @RequestParam(required = false) String nameContains,
             @RequestParam(required = false) String phoneContains,
-            @PageableDefault(size = 10, sort = "name") Pageable pageable
+            @PageableDefault(size = 10, sort = "name") Pageable pageable,
+            WebRequest request
+    ) {
+        return contactService.findAllByCriteria(agendaId, nameContains, phoneContains, pageable, notModified(request))
+                .map(dtosPage -> ResponseEntity.ok(PageResponseDTO.fromPage(dtosPage)))
+                .orElse(null);
+    }
+
+    @GetMapping(value = "/agendas/{agendaId}/contacts", params = "mode=slice")
+    public ResponseEntity<SliceResponseDTO<ContactResponseDTO>> findSliceByCriteria(
+            @PathVariable UUID agendaId,
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String phoneContains,
+            @PageableDefault(size = 10, sort = "name") Pageable pageable,
+            WebRequest request
+    ) {
+        return contactService.findSliceByCriteria(agendaId, nameContains, phoneContains, pageable, notModified(request))
+                .map(dtosSlice -> ResponseEntity.ok(SliceResponseDTO.fromSlice(dtosSlice)))
+                .orElse(null);
+    }
+
+    /**
+     * Cursor-paginated variant of {@link #findAllByCriteria}, selected with {@code mode=cursor}.
+     * Results are always ordered by name and id; only the page size is taken from the pageable.
+     */
+    @GetMapping(value = "/agendas/{agendaId}/contacts", params = "mode=cursor")
+    public ResponseEntity<CursorPageResponseDTO<ContactResponseDTO>> findAllByCriteriaAfter(
+            @PathVariable UUID agendaId,
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String phoneContains,
+            @RequestParam(required = false) String after,
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest request
+    ) {
+        ContactCursor cursor = after == null || after.isBlank() ? null : ContactCursor.decode(after);
+        return contactService.findAllByCriteriaAfter(
+                        agendaId, nameContains, phoneContains, cursor, pageable.getPageSize(), notModified(request))
+                .map(dtosSlice -> ResponseEntity.ok(CursorPageResponseDTO.fromSlice(
+                        dtosSlice, dto -> new ContactCursor(dto.name(), dto.id()).encode())))
+                .orElse(null);
+    }
+
+    /**
+     * Returns the contacts created, updated or deleted in the agenda after the {@code since} token,
+     * so that clients can sync incrementally instead of downloading the whole agenda.
+     * A token older than the change log retention gets 410 Gone with the latest token to resync from.
+     */
+    @GetMapping("/agendas/{agendaId}/contacts/changes")
+    public ResponseEntity<ContactChangesResponseDTO> findChanges(
+            @PathVariable UUID agendaId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit
     ) {
-        Page<Contact> contactsPage = contactService.findAllByCriteria(agendaId, nameContains, phoneContains, pageable);
-        Page<ContactResponseDTO> dtosPage = contactsPage.map(ContactResponseDTO::fromEntity);
-        PageResponseDTO<ContactResponseDTO> response = PageResponseDTO.fromPage(dtosPage);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(contactChangeService.findChanges(agendaId, since, limit));
+    }
+
+    /**
+     * Live variant of {@link #findChanges} as Server-Sent Events, selected with {@code mode=stream}.
+     * A reconnecting client resumes from its {@code Last-Event-ID}.
+     */
+    @GetMapping(value = "/agendas/{agendaId}/contacts/changes", params = "mode=stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @PathVariable UUID agendaId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) throws IOException {
+        return contactChangeStreamService.subscribe(agendaId, lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Streams every contact of the agenda matching the filters, as NDJSON (default) or CSV.
+     */
+    @GetMapping("/agendas/{agendaId}/contacts/export")
+    public void export(
+            @PathVariable UUID agendaId,
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String phoneContains,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        ContactExportWriter exportWriter = new ContactExportWriter(ContactExportFormat.fromParameter(format), response, objectMapper);
+        contactService.exportContacts(agendaId, nameContains, phoneContains, exportWriter::write);
+        exportWriter.finish();
     }
 
     @PutMapping("/contacts/{id}")
@@ -70,9 +236,71 @@ public class ContactController {
     }
 
     @DeleteMapping("/agendas/{agendaId}/contacts")
-    public ResponseEntity<Void> deleteContactsByNamePrefix(@PathVariable UUID agendaId,
-                                                           @RequestParam String namePrefix) {
-        contactService.deleteContactsByNamePrefix(agendaId, namePrefix);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<ContactDeleteResponseDTO> deleteContactsByNamePrefix(@PathVariable UUID agendaId,
+                                                                               @RequestParam String namePrefix) {
+        long deleted = contactService.deleteContactsByNamePrefix(agendaId, namePrefix);
+        return ResponseEntity.ok(new ContactDeleteResponseDTO(deleted));
+    }
+
+    /**
+     * Background variant of {@link #deleteContactsByNamePrefix}, selected with {@code mode=async}, for very large deletions.
+     * Returns a job whose progress can be followed at the {@code Location} header.
+     */
+    @DeleteMapping(value = "/agendas/{agendaId}/contacts", params = "mode=async")
+    public ResponseEntity<ContactDeleteJobDTO> submitDeleteContactsByNamePrefix(@PathVariable UUID agendaId,
+                                                                                @RequestParam String namePrefix) {
+        ContactDeleteJobDTO job = contactDeleteJobService.submit(agendaId, namePrefix);
+
+        URI location = ServletUriComponentsBuilder.fromPath("/contact-delete-jobs/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/contact-delete-jobs/{id}")
+    public ResponseEntity<ContactDeleteJobDTO> findDeleteJobById(@PathVariable UUID id) {
+        return ResponseEntity.ok(contactDeleteJobService.findById(id));
+    }
+
+    /**
+     * The latest duplicate scan of an agenda, started on first request: 202 while it runs, 200 once done.
+     */
+    @GetMapping("/agendas/{agendaId}/duplicates")
+    public ResponseEntity<ContactDuplicateReportDTO> findDuplicates(@PathVariable UUID agendaId) {
+        return toResponse(contactDuplicateService.findByAgendaId(agendaId));
+    }
+
+    @PostMapping("/agendas/{agendaId}/duplicates")
+    public ResponseEntity<ContactDuplicateReportDTO> submitDuplicateScan(@PathVariable UUID agendaId) {
+        ContactDuplicateReportDTO report = contactDuplicateService.submit(agendaId);
+
+        URI location = ServletUriComponentsBuilder.fromPath("/agendas/{agendaId}/duplicates")
+                .buildAndExpand(agendaId)
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(report);
+    }
+
+    /**
+     * Rescans every agenda in a single pass; each agenda's report is replaced when the scan completes.
+     */
+    @PostMapping("/duplicates")
+    public ResponseEntity<Void> submitDuplicateScanOfAllAgendas() {
+        contactDuplicateService.submitAll();
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Collections are validated by ETag only: their latest {@code updatedAt} does not move when a contact is removed,
+     * so a {@code Last-Modified} header would let {@code If-Modified-Since} clients miss deletions.
+     */
+    private static Predicate<ResourceVersion> notModified(WebRequest request) {
+        return version -> request.checkNotModified(version.eTag());
+    }
+
+    private static ResponseEntity<ContactDuplicateReportDTO> toResponse(ContactDuplicateReportDTO report) {
+        HttpStatus status = report.status() == ContactDuplicateReportDTO.Status.RUNNING ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(report);
     }
 }
@@ -0,0 +1,52 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position of a contact listing, ordered by {@code (name, id)}.
+ * <p>
+ * Clients only ever see the {@link #encode() encoded} form, which must be treated as an opaque token.
+ *
+ * @param name the name of the last contact seen
+ * @param id   the id of the last contact seen
+ */
+public record ContactCursor(String name, UUID id) {
+
+    /**
+     * Sort order the cursor is bound to. The id acts as a tie-breaker for contacts sharing a name.
+     */
+    public static final Sort SORT = Sort.by("name", "id");
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = id + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static ContactCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            UUID id = UUID.fromString(raw.substring(0, UUID_LENGTH));
+            return new ContactCursor(raw.substring(UUID_LENGTH), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaService;
+import br.com.personal.opencontact.api.contact.dto.ContactDeleteJobDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs prefix deletes too large to wait for in the background, keeping their state in memory
+ * for {@link #JOB_RETENTION} after their last update.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContactDeleteJobService {
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    private static final int MAX_JOBS = 10_000;
+
+    private final AgendaService agendaService;
+    private final ContactPrefixDeleter contactPrefixDeleter;
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final Cache<UUID, ContactDeleteJobDTO> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(JOB_RETENTION)
+            .maximumSize(MAX_JOBS)
+            .build();
+
+    public ContactDeleteJobDTO submit(UUID agendaId, String namePrefix) {
+        agendaService.findById(agendaId);
+
+        ContactDeleteJobDTO job = ContactDeleteJobDTO.running(UUID.randomUUID(), agendaId, namePrefix);
+        jobs.put(job.id(), job);
+        taskExecutor.execute(() -> run(job));
+        return job;
+    }
+
+    public ContactDeleteJobDTO findById(UUID jobId) {
+        ContactDeleteJobDTO job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Delete job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(ContactDeleteJobDTO job) {
+        try {
+            long deleted = contactPrefixDeleter.deleteByNamePrefix(job.agendaId(), job.namePrefix(),
+                    progress -> update(job.id(), current -> current.withDeleted(progress)));
+            update(job.id(), current -> current.completed(deleted));
+        } catch (RuntimeException ex) {
+            update(job.id(), current -> current.failed(ex.getMessage()));
+        }
+    }
+
+    private void update(UUID jobId, UnaryOperator<ContactDeleteJobDTO> change) {
+        jobs.asMap().computeIfPresent(jobId, (id, current) -> change.apply(current));
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the duplicate contact detection.
+ *
+ * @param partitions         number of phone key partitions, read in parallel, each on its own connection
+ * @param fetchSize          number of rows fetched per round trip while streaming a partition
+ * @param nameSimilarity     trigram similarity, from 0 to 1, above which two names sharing a phone key are duplicates
+ * @param maxContactsPerKey  contacts sharing a phone key compared pairwise at most; larger blocks are skipped
+ * @param reportRetention    how long a scan report is kept after it was written
+ */
+@ConfigurationProperties(prefix = "opencontact.contacts.duplicates")
+public record ContactDuplicateProperties(
+        @DefaultValue("4") int partitions,
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("0.5") double nameSimilarity,
+        @DefaultValue("1000") int maxContactsPerKey,
+        @DefaultValue("1h") Duration reportRetention
+) {
+}
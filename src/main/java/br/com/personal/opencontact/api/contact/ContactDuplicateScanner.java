@@ -0,0 +1,229 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.ContactJdbcRepository.PhoneKeyedContact;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateGroupDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactPhoneMatchDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Finds candidate duplicate contacts: contacts of the same agenda whose phones share a normalized key
+ * (see {@link ContactJdbcRepository#forEachByPhoneKey}) and whose names are similar.
+ * <p>
+ * The phone keys are split in {@link ContactDuplicateProperties#partitions()} hash partitions, scanned in parallel
+ * by a fork-join pool. Each partition is streamed from the database sorted by key, so only the contacts sharing
+ * the current key are held in memory, besides the duplicates found.
+ * <p>
+ * The phone key is not indexed, so each partition reads every contact in scope, computing the key (two
+ * {@code regexp_replace}) and its hash per row, and sorts the rows it keeps. A scan of every agenda thus costs
+ * {@code partitions} full table scans and {@code partitions} times as many regular expression evaluations as there
+ * are contacts, plus sorts of about {@code contacts / partitions} rows each, spilling to disk past {@code work_mem}.
+ * The partitions run on separate connections, so the elapsed time is about that of one scan and one sort, which
+ * is what has to fit in seconds for a million contacts, while the database CPU grows with the number of
+ * partitions: raising {@code partitions} past the cores available to the database slows the scan down. The key
+ * is only needed here, so it is left unindexed rather than maintained on every contact write; an expression index
+ * on {@code (agenda_id, key)} would be the next step should the whole-table scans become a problem.
+ */
+@Slf4j
+@Component
+public class ContactDuplicateScanner implements DisposableBean {
+
+    private final ContactJdbcRepository contactJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ContactDuplicateProperties properties;
+    private final ForkJoinPool pool;
+
+    public ContactDuplicateScanner(ContactJdbcRepository contactJdbcRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ContactDuplicateProperties properties) {
+        this.contactJdbcRepository = contactJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.partitions());
+    }
+
+    /**
+     * Scans the contacts of an agenda, or of every agenda, blocking until all partitions are done.
+     *
+     * @param agendaId the id of the agenda, or {@code null} for every agenda
+     * @return the number of contacts and the duplicate groups of each scanned agenda
+     */
+    public ScanResult scan(UUID agendaId) {
+        return pool.invoke(new PartitionTask(agendaId, 0, properties.partitions()));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private ScanResult scanPartition(UUID agendaId, int partition) {
+        var collector = new KeyBlockCollector();
+        readOnlyTransaction.executeWithoutResult(status -> contactJdbcRepository.forEachByPhoneKey(
+                agendaId, partition, properties.partitions(), properties.fetchSize(), collector));
+        collector.flush();
+        return collector.result;
+    }
+
+    /**
+     * Splits a range of partitions in halves until a single partition is left, which is then scanned.
+     */
+    private final class PartitionTask extends RecursiveTask<ScanResult> {
+
+        private final UUID agendaId;
+        private final int from;
+        private final int to;
+
+        private PartitionTask(UUID agendaId, int from, int to) {
+            this.agendaId = agendaId;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ScanResult compute() {
+            if (to - from == 1) {
+                return scanPartition(agendaId, from);
+            }
+            int middle = (from + to) >>> 1;
+            var left = new PartitionTask(agendaId, from, middle);
+            left.fork();
+            ScanResult right = new PartitionTask(agendaId, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Gathers the adjacent contacts sharing an agenda and a phone key, and groups them by name once the key changes.
+     */
+    private final class KeyBlockCollector implements Consumer<PhoneKeyedContact> {
+
+        private final ScanResult result = new ScanResult(new HashMap<>(), new HashMap<>());
+        private final List<ContactPhoneMatchDTO> block = new ArrayList<>();
+        private UUID agendaId;
+        private String phoneKey;
+        private int blockSize;
+
+        @Override
+        public void accept(PhoneKeyedContact row) {
+            ContactPhoneMatchDTO contact = row.contact();
+            if (!contact.agendaId().equals(agendaId) || !row.phoneKey().equals(phoneKey)) {
+                flush();
+                agendaId = contact.agendaId();
+                phoneKey = row.phoneKey();
+            }
+            result.scannedContacts().merge(agendaId, 1L, Long::sum);
+            blockSize++;
+            if (blockSize <= properties.maxContactsPerKey()) {
+                block.add(contact);
+            }
+        }
+
+        void flush() {
+            if (blockSize > properties.maxContactsPerKey()) {
+                log.warn("Skipped {} contacts sharing the phone key {} in agenda {}", blockSize, phoneKey, agendaId);
+            } else if (block.size() > 1) {
+                for (List<ContactPhoneMatchDTO> group : groupBySimilarName(block, properties.nameSimilarity())) {
+                    result.groups().computeIfAbsent(agendaId, id -> new ArrayList<>())
+                            .add(new ContactDuplicateGroupDTO(phoneKey, group));
+                }
+            }
+            block.clear();
+            blockSize = 0;
+        }
+    }
+
+    /**
+     * The outcome of a scan, by agenda.
+     */
+    public record ScanResult(Map<UUID, Long> scannedContacts, Map<UUID, List<ContactDuplicateGroupDTO>> groups) {
+
+        ScanResult merge(ScanResult other) {
+            other.scannedContacts.forEach((agendaId, count) -> scannedContacts.merge(agendaId, count, Long::sum));
+            other.groups.forEach((agendaId, found) ->
+                    groups.computeIfAbsent(agendaId, id -> new ArrayList<>()).addAll(found));
+            return this;
+        }
+    }
+
+    /**
+     * Splits {@code contacts} into groups of two or more contacts linked by similar names, see {@link #similarNames}.
+     * Similarity is chained: if A is similar to B and B to C, A, B and C form one group.
+     */
+    static List<List<ContactPhoneMatchDTO>> groupBySimilarName(List<ContactPhoneMatchDTO> contacts, double threshold) {
+        List<NameFeatures> names = contacts.stream().map(contact -> NameFeatures.of(contact.name())).toList();
+
+        int[] parents = new int[contacts.size()];
+        Arrays.setAll(parents, i -> i);
+        for (int i = 0; i < contacts.size(); i++) {
+            for (int j = i + 1; j < contacts.size(); j++) {
+                if (similarNames(names.get(i), names.get(j), threshold)) {
+                    parents[root(parents, j)] = root(parents, i);
+                }
+            }
+        }
+
+        Map<Integer, List<ContactPhoneMatchDTO>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < contacts.size(); i++) {
+            groups.computeIfAbsent(root(parents, i), r -> new ArrayList<>()).add(contacts.get(i));
+        }
+        return groups.values().stream().filter(group -> group.size() > 1).toList();
+    }
+
+    /**
+     * Two names are similar when, ignoring accents and case, the words of one are all part of the other
+     * ("Ana" and "Ana Paula"), or their trigram similarity reaches {@code threshold}, as computed by pg_trgm.
+     */
+    static boolean similarNames(NameFeatures a, NameFeatures b, double threshold) {
+        if (a.words().containsAll(b.words()) || b.words().containsAll(a.words())) {
+            return true;
+        }
+        long shared = a.trigrams().stream().filter(b.trigrams()::contains).count();
+        long union = a.trigrams().size() + b.trigrams().size() - shared;
+        return union > 0 && (double) shared / union >= threshold;
+    }
+
+    private static int root(int[] parents, int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    record NameFeatures(Set<String> words, Set<String> trigrams) {
+
+        static NameFeatures of(String name) {
+            Set<String> words = new HashSet<>();
+            Set<String> trigrams = new HashSet<>();
+            for (String word : ContactSuggestionIndex.fold(name).strip().split(" ")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                words.add(word);
+                String padded = "  " + word + " ";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    trigrams.add(padded.substring(i, i + 3));
+                }
+            }
+            return new NameFeatures(words, trigrams);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaService;
+import br.com.personal.opencontact.api.contact.ContactDuplicateScanner.ScanResult;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateGroupDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateReportDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs duplicate contact scans in the background, see {@link ContactDuplicateScanner}, keeping the latest report
+ * of each agenda in memory for {@link ContactDuplicateProperties#reportRetention()}.
+ */
+@Slf4j
+@Service
+public class ContactDuplicateService {
+
+    private static final int MAX_REPORTS = 10_000;
+
+    private final AgendaService agendaService;
+    private final ContactDuplicateScanner contactDuplicateScanner;
+    private final AsyncTaskExecutor taskExecutor;
+    private final Cache<UUID, ContactDuplicateReportDTO> reports;
+    private final AtomicBoolean scanningAllAgendas = new AtomicBoolean();
+
+    public ContactDuplicateService(AgendaService agendaService, ContactDuplicateScanner contactDuplicateScanner,
+                                   AsyncTaskExecutor taskExecutor, ContactDuplicateProperties properties) {
+        this.agendaService = agendaService;
+        this.contactDuplicateScanner = contactDuplicateScanner;
+        this.taskExecutor = taskExecutor;
+        this.reports = Caffeine.newBuilder()
+                .expireAfterWrite(properties.reportRetention())
+                .maximumSize(MAX_REPORTS)
+                .build();
+    }
+
+    /**
+     * Returns the latest duplicate report of an agenda, starting a scan if there is none yet.
+     */
+    public ContactDuplicateReportDTO findByAgendaId(UUID agendaId) {
+        ContactDuplicateReportDTO report = reports.getIfPresent(agendaId);
+        return report != null ? report : submit(agendaId);
+    }
+
+    /**
+     * Starts a scan of an agenda, unless one is already running, in which case its report is returned.
+     */
+    public ContactDuplicateReportDTO submit(UUID agendaId) {
+        agendaService.findById(agendaId);
+
+        ContactDuplicateReportDTO running = ContactDuplicateReportDTO.running(agendaId, LocalDateTime.now());
+        ContactDuplicateReportDTO report = reports.asMap().compute(agendaId, (id, current) ->
+                current != null && current.status() == ContactDuplicateReportDTO.Status.RUNNING ? current : running);
+        if (report == running) {
+            taskExecutor.execute(() -> run(running));
+        }
+        return report;
+    }
+
+    /**
+     * Starts a scan of every agenda in a single pass, unless one is already running. The report of each agenda
+     * having contacts is replaced once the whole scan completes. If the scan fails, the reports already kept are
+     * replaced by a failed one, except those of agendas being scanned on their own.
+     */
+    public void submitAll() {
+        if (!scanningAllAgendas.compareAndSet(false, true)) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            taskExecutor.execute(() -> runAll(startedAt));
+        } catch (RuntimeException ex) {
+            // The task will never run to clear the flag
+            scanningAllAgendas.set(false);
+            throw ex;
+        }
+    }
+
+    private void run(ContactDuplicateReportDTO running) {
+        UUID agendaId = running.agendaId();
+        try {
+            ScanResult result = contactDuplicateScanner.scan(agendaId);
+            reports.put(agendaId, toReport(agendaId, running.startedAt(), result));
+        } catch (RuntimeException ex) {
+            log.warn("Duplicate scan of agenda {} failed", agendaId, ex);
+            reports.put(agendaId, running.failed(ex.getMessage()));
+        }
+    }
+
+    private void runAll(LocalDateTime startedAt) {
+        try {
+            ScanResult result = contactDuplicateScanner.scan(null);
+            result.scannedContacts().forEach((agendaId, scanned) ->
+                    reports.put(agendaId, toReport(agendaId, startedAt, result)));
+        } catch (RuntimeException ex) {
+            log.warn("Duplicate scan of every agenda failed", ex);
+            reports.asMap().replaceAll((agendaId, report) -> report.status() == ContactDuplicateReportDTO.Status.RUNNING
+                    ? report
+                    : ContactDuplicateReportDTO.running(agendaId, startedAt).failed(ex.getMessage()));
+        } finally {
+            scanningAllAgendas.set(false);
+        }
+    }
+
+    private static ContactDuplicateReportDTO toReport(UUID agendaId, LocalDateTime startedAt, ScanResult result) {
+        List<ContactDuplicateGroupDTO> groups = result.groups().getOrDefault(agendaId, List.of()).stream()
+                .sorted(Comparator.comparing(ContactDuplicateGroupDTO::phoneKey))
+                .toList();
+        return ContactDuplicateReportDTO.completed(agendaId, startedAt,
+                result.scannedContacts().getOrDefault(agendaId, 0L), groups);
+    }
+}
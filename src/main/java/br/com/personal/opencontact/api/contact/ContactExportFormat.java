@@ -0,0 +1,40 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum ContactExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ContactExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves the export format from its request parameter value, ignoring case.
+     *
+     * @param value the requested format, e.g. "csv"
+     * @return the matching format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ContactExportFormat fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + value));
+    }
+}
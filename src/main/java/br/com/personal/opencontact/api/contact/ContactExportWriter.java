@@ -0,0 +1,83 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes contacts straight to the HTTP response, one line per contact.
+ * <p>
+ * The response headers are only set on the first write, so that errors raised before any
+ * contact is read (e.g. an unknown agenda) are still rendered by the exception handler.
+ */
+public class ContactExportWriter {
+
+    private static final String CSV_HEADER = "id,name,type,areaCode,phoneNumber,createdAt,updatedAt";
+
+    private final ContactExportFormat format;
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private Writer writer;
+
+    public ContactExportWriter(ContactExportFormat format, HttpServletResponse response, ObjectMapper objectMapper) {
+        this.format = format;
+        this.response = response;
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(Contact contact) throws IOException {
+        Writer out = start();
+        if (format == ContactExportFormat.CSV) {
+            out.write(toCsvLine(contact));
+        } else {
+            out.write(objectMapper.writeValueAsString(ContactResponseDTO.fromEntity(contact)));
+        }
+        out.write('\n');
+    }
+
+    public void finish() throws IOException {
+        start().flush();
+    }
+
+    private Writer start() throws IOException {
+        if (writer == null) {
+            response.setContentType(format.getContentType());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"contacts." + format.getExtension() + "\"");
+            writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            if (format == ContactExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+        }
+        return writer;
+    }
+
+    private static String toCsvLine(Contact contact) {
+        return String.join(",",
+                String.valueOf(contact.getId()),
+                escapeCsv(contact.getName()),
+                String.valueOf(contact.getType()),
+                escapeCsv(contact.getAreaCode()),
+                escapeCsv(contact.getPhoneNumber()),
+                String.valueOf(contact.getCreatedAt()),
+                String.valueOf(contact.getUpdatedAt()));
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.common.id.UuidV7Generator;
+import br.com.personal.opencontact.api.contact.dto.ContactBulkResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactBulkRowResultDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ContactImportService {
+
+    private final AgendaRepository agendaRepository;
+    private final ContactJdbcRepository contactJdbcRepository;
+    private final Validator validator;
+    private final ContactBulkProperties properties;
+    private final ContactSuggestionIndex contactSuggestionIndex;
+    private final ContactCacheEvictor contactCacheEvictor;
+
+    /**
+     * Validates and inserts the given rows into an agenda in batches of one statement each, all in one transaction.
+     * Invalid rows and rows whose phone already exists in the agenda are reported instead of failing the import.
+     * <p>
+     * The phones of the created contacts are evicted from the {@link ContactService#PHONE_CACHE_NAME} cache once
+     * the transaction commits, as {@link ContactService#create} does for a single contact.
+     *
+     * @param agendaId the id of the agenda
+     * @param rows     the contacts to import, consumed lazily
+     * @return the outcome of every row, in request order
+     */
+    @Transactional
+    public ContactBulkResponseDTO importContacts(UUID agendaId, Iterator<ContactCreateDTO> rows) {
+        if (!agendaRepository.existsById(agendaId)) {
+            throw new EntityNotFoundException("Agenda not found with id: " + agendaId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> createdPhoneKeys = new ArrayList<>();
+        List<ContactBulkRowResultDTO> results = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>(properties.batchSize());
+        List<Contact> pendingContacts = new ArrayList<>(properties.batchSize());
+
+        int index = 0;
+        while (rows.hasNext()) {
+            if (index == properties.maxRows()) {
+                throw new IllegalArgumentException("Bulk import is limited to " + properties.maxRows() + " contacts per request.");
+            }
+
+            ContactCreateDTO row = rows.next();
+            Map<String, String> errors = validate(row);
+            if (errors.isEmpty()) {
+                pendingIndexes.add(index);
+                pendingContacts.add(toContact(row, now));
+                results.add(null);
+            } else {
+                results.add(ContactBulkRowResultDTO.invalid(index, errors));
+            }
+            index++;
+
+            if (pendingContacts.size() == properties.batchSize()) {
+                insertBatch(agendaId, pendingIndexes, pendingContacts, results, createdPhoneKeys);
+            }
+        }
+        insertBatch(agendaId, pendingIndexes, pendingContacts, results, createdPhoneKeys);
+        contactCacheEvictor.evictPhonesAfterCommit(createdPhoneKeys);
+
+        return ContactBulkResponseDTO.fromRows(results);
+    }
+
+    private void insertBatch(UUID agendaId, List<Integer> indexes, List<Contact> contacts,
+                             List<ContactBulkRowResultDTO> results, List<String> createdPhoneKeys) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+        int[] insertCounts = contactJdbcRepository.insertIgnoringDuplicatePhones(agendaId, contacts);
+        for (int i = 0; i < insertCounts.length; i++) {
+            int index = indexes.get(i);
+            Contact contact = contacts.get(i);
+            if (insertCounts[i] > 0) {
+                results.set(index, ContactBulkRowResultDTO.created(index, contact.getId()));
+                contactSuggestionIndex.put(agendaId, contact.getId(), contact.getName());
+                createdPhoneKeys.add(ContactCacheEvictor.phoneKey(contact.getAreaCode(), contact.getPhoneNumber()));
+            } else {
+                results.set(index, ContactBulkRowResultDTO.duplicate(index));
+            }
+        }
+        indexes.clear();
+        contacts.clear();
+    }
+
+    private Map<String, String> validate(ContactCreateDTO row) {
+        if (row == null) {
+            return Map.of("contact", "must not be null");
+        }
+        Set<ConstraintViolation<ContactCreateDTO>> violations = validator.validate(row);
+        return violations.stream().collect(Collectors.toMap(
+                violation -> violation.getPropertyPath().toString(),
+                ConstraintViolation::getMessage,
+                (first, second) -> first
+        ));
+    }
+
+    private static Contact toContact(ContactCreateDTO row, LocalDateTime now) {
+        Contact contact = new Contact(row.name(), row.type(), row.areaCode(), row.phoneNumber(), null);
+        contact.setId(UuidV7Generator.generate());
+        contact.setCreatedAt(now);
+        contact.setUpdatedAt(now);
+        return contact;
+    }
+}
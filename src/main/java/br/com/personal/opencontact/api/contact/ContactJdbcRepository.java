@@ -0,0 +1,198 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.dto.ContactPhoneMatchDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Plain JDBC access to the contacts table, for set-based operations that would be
+ * too costly through the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContactJdbcRepository {
+
+    private static final String INSERT_IGNORING_DUPLICATE_PHONE = """
+            INSERT INTO contacts (id, agenda_id, name, type, area_code, phone_number, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT ON CONSTRAINT uk_contact_phone_by_agenda DO NOTHING
+            """;
+
+    private static final String INSERT_ALL_IGNORING_DUPLICATE_PHONES = """
+            INSERT INTO contacts (id, agenda_id, name, type, area_code, phone_number, created_at, updated_at)
+            SELECT batch.id, ?, batch.name, batch.type, batch.area_code, batch.phone_number, batch.created_at, batch.updated_at
+            FROM unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[], ?::timestamp[], ?::timestamp[])
+                 WITH ORDINALITY AS batch (id, name, type, area_code, phone_number, created_at, updated_at, position)
+            ORDER BY batch.position
+            ON CONFLICT ON CONSTRAINT uk_contact_phone_by_agenda DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String DELETE_CHUNK_BY_NAME_LIKE = """
+            DELETE FROM contacts WHERE id IN (
+                SELECT id FROM contacts
+                WHERE agenda_id = ? AND lower(name) LIKE lower(?) ESCAPE '\\'
+                LIMIT ?)
+            RETURNING id, area_code, phone_number
+            """;
+
+    /**
+     * Digits of the area code followed by the last 8 digits of the phone, so that formatting and the mobile
+     * ninth digit do not matter: "11 98765-4321" and "11 87654321" share the key "1187654321".
+     */
+    private static final String PHONE_KEY = """
+            regexp_replace(area_code, '\\D', '', 'g') || right(regexp_replace(phone_number, '\\D', '', 'g'), 8)
+            """;
+
+    private static final String SELECT_BY_PHONE_KEY = """
+            SELECT id, agenda_id, name, type, area_code, phone_number, phone_key
+            FROM (SELECT id, agenda_id, name, type, area_code, phone_number, %s AS phone_key FROM contacts %s) keyed
+            WHERE (hashtext(phone_key) & 2147483647) %% ? = ?
+            ORDER BY agenda_id, phone_key
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given {@code contact} into the agenda with the given {@code agendaId} in a single statement,
+     * unless its phone already exists in the agenda ({@code uk_contact_phone_by_agenda}).
+     * <p>
+     * The id and audit timestamps must already be set on the contact.
+     *
+     * @param agendaId the id of the agenda
+     * @param contact the contact to insert
+     * @return whether the contact was inserted, {@code false} if its phone already exists in the agenda
+     * @throws org.springframework.dao.DataIntegrityViolationException if the agenda does not exist ({@code fk_contact_agenda})
+     */
+    public boolean insertIgnoringDuplicatePhone(UUID agendaId, Contact contact) {
+        return jdbcTemplate.update(INSERT_IGNORING_DUPLICATE_PHONE, ps -> setInsertParameters(ps, agendaId, contact)) > 0;
+    }
+
+    /**
+     * Inserts the given {@code contacts} into the agenda with the given {@code agendaId} in a single statement.
+     * Rows whose phone already exists in the agenda, or earlier in {@code contacts}, are skipped by the
+     * {@code uk_contact_phone_by_agenda} constraint.
+     * <p>
+     * One statement per batch, rather than a JDBC batch of one statement per row, so that the statement-level
+     * triggers on contacts (agenda counter, change feed) update and lock the agenda row once per batch.
+     * <p>
+     * The ids and audit timestamps must already be set on the contacts.
+     *
+     * @param agendaId the id of the agenda
+     * @param contacts the contacts to insert
+     * @return for each contact, whether it was inserted ({@code 1}) or skipped as a duplicate ({@code 0})
+     */
+    public int[] insertIgnoringDuplicatePhones(UUID agendaId, List<Contact> contacts) {
+        if (contacts.isEmpty()) {
+            return new int[0];
+        }
+        Set<UUID> insertedIds = new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_ALL_IGNORING_DUPLICATE_PHONES);
+            ps.setObject(1, agendaId);
+            ps.setArray(2, column(con, "uuid", contacts, Contact::getId));
+            ps.setArray(3, column(con, "text", contacts, Contact::getName));
+            ps.setArray(4, column(con, "text", contacts, contact -> contact.getType().name()));
+            ps.setArray(5, column(con, "text", contacts, Contact::getAreaCode));
+            ps.setArray(6, column(con, "text", contacts, Contact::getPhoneNumber));
+            ps.setArray(7, column(con, "timestamp", contacts, contact -> Timestamp.valueOf(contact.getCreatedAt())));
+            ps.setArray(8, column(con, "timestamp", contacts, contact -> Timestamp.valueOf(contact.getUpdatedAt())));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class)));
+        return contacts.stream().mapToInt(contact -> insertedIds.contains(contact.getId()) ? 1 : 0).toArray();
+    }
+
+    /**
+     * Deletes up to {@code limit} contacts with the given {@code agendaId} and whose name matches the given
+     * {@code namePattern}, ignoring case. The pattern is a LIKE pattern escaped with a backslash.
+     *
+     * @param agendaId the id of the agenda
+     * @param namePattern the LIKE pattern of the contact name
+     * @param limit the maximum number of contacts to delete
+     * @return the deleted contacts, so that their cache entries can be evicted
+     */
+    public List<DeletedContact> deleteChunkByAgendaIdAndNameLike(UUID agendaId, String namePattern, int limit) {
+        return jdbcTemplate.query(DELETE_CHUNK_BY_NAME_LIKE, (rs, rowNum) -> new DeletedContact(
+                rs.getObject("id", UUID.class),
+                rs.getString("area_code"),
+                rs.getString("phone_number")), agendaId, namePattern, limit);
+    }
+
+    private static Array column(Connection con, String type, List<Contact> contacts,
+                                Function<Contact, Object> value) throws SQLException {
+        return con.createArrayOf(type, contacts.stream().map(value).toArray());
+    }
+
+    private static void setInsertParameters(PreparedStatement ps, UUID agendaId, Contact contact) throws SQLException {
+        ps.setObject(1, contact.getId());
+        ps.setObject(2, agendaId);
+        ps.setString(3, contact.getName());
+        ps.setString(4, contact.getType().name());
+        ps.setString(5, contact.getAreaCode());
+        ps.setString(6, contact.getPhoneNumber());
+        ps.setTimestamp(7, Timestamp.valueOf(contact.getCreatedAt()));
+        ps.setTimestamp(8, Timestamp.valueOf(contact.getUpdatedAt()));
+    }
+
+    /**
+     * Streams the contacts of one partition of the normalized phone keys, ordered by agenda and phone key so that
+     * contacts sharing a key are adjacent, reading {@code fetchSize} rows per round trip. The partition of a key is
+     * its hash modulo {@code partitions}, so partitions can be read in parallel.
+     * <p>
+     * Must be called within a transaction, for the driver to use a cursor.
+     *
+     * @param agendaId the id of the agenda, or {@code null} for every agenda
+     * @param partition the partition to read, from {@code 0} to {@code partitions - 1}
+     * @param partitions the number of partitions
+     * @param fetchSize the number of rows fetched per round trip
+     * @param action called with each contact, in order
+     */
+    public void forEachByPhoneKey(UUID agendaId, int partition, int partitions, int fetchSize,
+                                  Consumer<PhoneKeyedContact> action) {
+        String sql = SELECT_BY_PHONE_KEY.formatted(PHONE_KEY.strip(), agendaId == null ? "" : "WHERE agenda_id = ?");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(fetchSize);
+            int index = 1;
+            if (agendaId != null) {
+                ps.setObject(index++, agendaId);
+            }
+            ps.setInt(index++, partitions);
+            ps.setInt(index, partition);
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(new PhoneKeyedContact(
+                rs.getString("phone_key"),
+                new ContactPhoneMatchDTO(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("agenda_id", UUID.class),
+                        rs.getString("name"),
+                        ContactType.valueOf(rs.getString("type")),
+                        rs.getString("area_code"),
+                        rs.getString("phone_number")))));
+    }
+
+    /**
+     * A contact with its normalized phone key.
+     */
+    public record PhoneKeyedContact(String phoneKey, ContactPhoneMatchDTO contact) {
+    }
+
+    /**
+     * The keys of the cache entries of a deleted contact.
+     */
+    public record DeletedContact(UUID id, String areaCode, String phoneNumber) {
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.ContactJdbcRepository.DeletedContact;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes the contacts of an agenda whose name starts with a prefix in chunks of
+ * {@link ContactBulkProperties#deleteBatchSize()} rows, each committed in its own transaction,
+ * so that row locks are only held for one chunk at a time.
+ * <p>
+ * The deleted contacts and their phones are evicted from the contact caches as each chunk commits,
+ * leaving the entries of other contacts in place.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContactPrefixDeleter {
+
+    private final ContactJdbcRepository contactJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactBulkProperties properties;
+    private final ContactSuggestionIndex contactSuggestionIndex;
+    private final ContactCacheEvictor contactCacheEvictor;
+
+    /**
+     * @param progress notified with the running total of deleted contacts after each chunk
+     * @return the number of deleted contacts
+     */
+    public long deleteByNamePrefix(UUID agendaId, String namePrefix, LongConsumer progress) {
+        String namePattern = ContactSpecification.startsWithPattern(namePrefix);
+        int batchSize = properties.deleteBatchSize();
+
+        long deleted = 0;
+        int chunk;
+        try {
+            do {
+                chunk = transactionTemplate.execute(status -> deleteChunk(agendaId, namePattern, batchSize));
+                deleted += chunk;
+                progress.accept(deleted);
+            } while (chunk == batchSize);
+        } finally {
+            // Chunks that were committed before a failure are gone as well
+            contactSuggestionIndex.removeByNamePrefix(agendaId, namePrefix);
+        }
+
+        return deleted;
+    }
+
+    private int deleteChunk(UUID agendaId, String namePattern, int batchSize) {
+        List<DeletedContact> contacts = contactJdbcRepository.deleteChunkByAgendaIdAndNameLike(agendaId, namePattern, batchSize);
+        contactCacheEvictor.evictContactsAfterCommit(contacts.stream().map(DeletedContact::id).toList());
+        contactCacheEvictor.evictPhonesAfterCommit(contacts.stream()
+                .map(contact -> ContactCacheEvictor.phoneKey(contact.areaCode(), contact.phoneNumber()))
+                .distinct()
+                .toList());
+        return contacts.size();
+    }
+}
@@ -1,18 +1,20 @@
 package br.com.personal.opencontact.api.contact;
 
+import br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, UUID>, JpaSpecificationExecutor<Contact> {
+public interface ContactRepository extends JpaRepository<Contact, UUID>, JpaSpecificationExecutor<Contact>, ContactRepositoryCustom {
     /**
      * Returns whether a contact with the given {@code agendaId}, {@code areaCode} and {@code phoneNumber} already exists.
      *
@@ -33,6 +35,15 @@ public interface ContactRepository extends JpaRepository<Contact, UUID>, JpaSpec
      */
     Optional<Contact> findByAgendaIdAndAreaCodeAndPhoneNumber(UUID agendaId, String areaCode, String phoneNumber);
 
+    /**
+     * Returns the contacts with the given {@code areaCode} and {@code phoneNumber} in any agenda, ordered by name.
+     *
+     * @param areaCode the area code of the contact
+     * @param phoneNumber the phone number of the contact
+     * @return the contacts having the phone, an empty list if none
+     */
+    List<Contact> findByAreaCodeAndPhoneNumberOrderByName(String areaCode, String phoneNumber);
+
     /**
      * Returns whether any contact with the given {@code agendaId} exists.
      *
@@ -42,12 +53,20 @@ public interface ContactRepository extends JpaRepository<Contact, UUID>, JpaSpec
     boolean existsByAgendaId(UUID agendaId);
 
     /**
-     * Deletes all contacts with the given {@code agendaId} and whose name starts with the given {@code namePrefix}, ignoring case.
+     * Returns the most recent modification date among the contacts with the given {@code agendaId}.
+     *
+     * @param agendaId the id of the agenda
+     * @return an optional containing the most recent modification date, an empty optional if the agenda has no contacts
+     */
+    @Query("SELECT max(c.updatedAt) FROM Contact c WHERE c.agenda.id = :agendaId")
+    Optional<LocalDateTime> findMaxUpdatedAtByAgendaId(@Param("agendaId") UUID agendaId);
+
+    /**
+     * Returns the id and name of every contact with the given {@code agendaId}, to build the suggestion index.
      *
      * @param agendaId the id of the agenda
-     * @param namePrefix the prefix of the contact name
+     * @return the ids and names of the contacts of the agenda, in no particular order
      */
-    @Modifying
-    @Query("DELETE FROM Contact c WHERE c.agenda.id = :agendaId AND lower(c.name) LIKE lower(concat(:namePrefix, '%'))")
-    void deleteByAgendaIdAndNameStartingWithIgnoreCase(@Param("agendaId") UUID agendaId, @Param("namePrefix") String namePrefix);
-}
\ No newline at end of file
+    @Query("SELECT new br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO(c.id, c.name) FROM Contact c WHERE c.agenda.id = :agendaId")
+    List<ContactSuggestionDTO> findSuggestionsByAgendaId(@Param("agendaId") UUID agendaId);
+}
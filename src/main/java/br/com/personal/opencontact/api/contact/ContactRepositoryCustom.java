@@ -0,0 +1,61 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSearchHitDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ContactRepositoryCustom {
+    /**
+     * Streams the contacts matching the given {@code spec} through a forward-only database cursor,
+     * fetching {@code fetchSize} rows per round trip. Contacts are detached as they are read, so the
+     * persistence context does not grow with the result.
+     * <p>
+     * Must be called within a transaction, and the returned stream must be closed.
+     *
+     * @param spec the filter to apply
+     * @param sort the order of the results
+     * @param fetchSize the number of rows fetched per round trip
+     * @return a stream of detached contacts
+     */
+    Stream<Contact> streamAll(Specification<Contact> spec, Sort sort, int fetchSize);
+
+    /**
+     * Returns the version of the contacts matching the given {@code spec}: their most recent modification
+     * date and their number, computed in a single aggregate query.
+     *
+     * @param spec the filter to apply
+     * @return the version of the matching contacts
+     */
+    ResourceVersion findVersion(Specification<Contact> spec);
+
+    /**
+     * Returns the contacts matching the given {@code spec} directly as response DTOs, selecting only the
+     * mapped columns instead of loading managed contacts.
+     *
+     * @param spec the filter to apply
+     * @param sort the order of the results
+     * @param offset the number of matching contacts to skip
+     * @param limit the maximum number of contacts to return
+     * @return the matching contacts, in the given order
+     */
+    List<ContactResponseDTO> findResponses(Specification<Contact> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Searches the names of the contacts of every agenda with the full-text {@code tsQuery}, ignoring
+     * accents and case, best matches first. Backed by the {@code search_vector} column and its GIN index.
+     * <p>
+     * The sort of the {@code pageable} is ignored: results are ordered by rank, then by name and id.
+     *
+     * @param tsQuery a {@code to_tsquery} expression, which is unaccented before being parsed
+     * @param pageable the page to return
+     * @return the requested page of matching contacts
+     */
+    Page<ContactSearchHitDTO> search(String tsQuery, Pageable pageable);
+}
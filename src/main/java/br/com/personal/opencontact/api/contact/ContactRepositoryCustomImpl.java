@@ -0,0 +1,125 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSearchHitDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+class ContactRepositoryCustomImpl implements ContactRepositoryCustom {
+
+    private static final String SEARCH_SQL = """
+            SELECT c.id, c.agenda_id, c.name, c.type, c.area_code, c.phone_number,
+                   ts_rank(c.search_vector, q.query, 1) AS rank
+            FROM contacts c, to_tsquery('simple', immutable_unaccent(:query)) AS q(query)
+            WHERE c.search_vector @@ q.query
+            ORDER BY rank DESC, c.name, c.id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String SEARCH_COUNT_SQL = """
+            SELECT count(*)
+            FROM contacts c
+            WHERE c.search_vector @@ to_tsquery('simple', immutable_unaccent(:query))
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Contact> streamAll(Specification<Contact> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contact> query = criteriaBuilder.createQuery(Contact.class);
+        Root<Contact> root = query.from(Contact.class);
+
+        query.where(spec.toPredicate(root, query, criteriaBuilder));
+        query.orderBy(toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+
+    @Override
+    public ResourceVersion findVersion(Specification<Contact> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResourceVersion> query = criteriaBuilder.createQuery(ResourceVersion.class);
+        Root<Contact> root = query.from(Contact.class);
+
+        query.select(criteriaBuilder.construct(ResourceVersion.class,
+                criteriaBuilder.greatest(root.<LocalDateTime>get("updatedAt")),
+                criteriaBuilder.count(root)));
+        query.where(spec.toPredicate(root, query, criteriaBuilder));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<ContactResponseDTO> findResponses(Specification<Contact> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContactResponseDTO> query = criteriaBuilder.createQuery(ContactResponseDTO.class);
+        Root<Contact> root = query.from(Contact.class);
+
+        query.select(criteriaBuilder.construct(ContactResponseDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("type"),
+                root.get("areaCode"),
+                root.get("phoneNumber"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        query.where(spec.toPredicate(root, query, criteriaBuilder));
+        query.orderBy(toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Page<ContactSearchHitDTO> search(String tsQuery, Pageable pageable) {
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(SEARCH_SQL, Tuple.class)
+                .setParameter("query", tsQuery)
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+
+        List<ContactSearchHitDTO> hits = rows.stream()
+                .map(row -> new ContactSearchHitDTO(
+                        row.get("id", UUID.class),
+                        row.get("agenda_id", UUID.class),
+                        row.get("name", String.class),
+                        ContactType.valueOf(row.get("type", String.class)),
+                        row.get("area_code", String.class),
+                        row.get("phone_number", String.class),
+                        row.get("rank", Number.class).floatValue()))
+                .toList();
+
+        return PageableExecutionUtils.getPage(hits, pageable, () -> ((Number) entityManager
+                .createNativeQuery(SEARCH_COUNT_SQL)
+                .setParameter("query", tsQuery)
+                .getSingleResult()).longValue());
+    }
+}
@@ -1,20 +1,47 @@
 package br.com.personal.opencontact.api.contact;
 
-import br.com.personal.opencontact.api.agenda.Agenda;
 import br.com.personal.opencontact.api.agenda.AgendaRepository;
 import br.com.personal.opencontact.api.agenda.AgendaService;
 import br.com.personal.opencontact.api.common.exceptions.PhoneAlreadyExistsException;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import br.com.personal.opencontact.api.common.id.UuidV7Generator;
 import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSearchHitDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO;
 import br.com.personal.opencontact.api.contact.dto.ContactUpdateDTO;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.ThrowingConsumer;
 
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,43 +50,133 @@ public class ContactService {
     private final ContactRepository contactRepository;
     private final AgendaService agendaService;
     private final AgendaRepository agendaRepository;
+    private final ContactJdbcRepository contactJdbcRepository;
+    private final ContactBulkProperties bulkProperties;
+    private final ContactPrefixDeleter contactPrefixDeleter;
+    private final ContactSuggestionIndex contactSuggestionIndex;
+    private final ContactSuggestProperties suggestProperties;
+    private final ContactCacheEvictor contactCacheEvictor;
 
-    @Transactional
-    public Contact create(UUID agendaId, ContactCreateDTO createDTO) {
-        // Verify if the phone number already exists in the agenda
-        boolean phoneExists = contactRepository.existsByAgendaIdAndAreaCodeAndPhoneNumber(
-                agendaId,
-                createDTO.areaCode(),
-                createDTO.phoneNumber()
-        );
+    public static final String CACHE_NAME = "contacts";
+    public static final String PHONE_CACHE_NAME = "contactsByPhone";
 
-        if (phoneExists) {
-            throw new PhoneAlreadyExistsException("Phone number already registered in this agenda.");
-        }
-
-        // Verify if the agenda exists
-        Agenda agenda = agendaRepository.findById(agendaId)
-                .orElseThrow(() -> new EntityNotFoundException("Agenda not found with id: " + agendaId));
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String FOREIGN_KEY_VIOLATION_SQL_STATE = "23503";
+    private static final Pattern SEARCH_TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
 
-        // Create the contact
+    @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CACHE_NAME, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = PHONE_CACHE_NAME, key = "#createDTO.areaCode() + ':' + #createDTO.phoneNumber()")
+    )
+    public Contact create(UUID agendaId, ContactCreateDTO createDTO) {
+        LocalDateTime now = LocalDateTime.now();
         Contact newContact = new Contact(
                 createDTO.name(),
                 createDTO.type(),
                 createDTO.areaCode(),
                 createDTO.phoneNumber(),
-                agenda
+                agendaRepository.getReferenceById(agendaId)
         );
+        newContact.setId(UuidV7Generator.generate());
+        newContact.setCreatedAt(now);
+        newContact.setUpdatedAt(now);
+
+        // Make pending changes of an enclosing transaction visible to the constraints checked by the insert
+        contactRepository.flush();
+
+        // A single INSERT: the unique and foreign key constraints replace the phone and agenda lookups
+        boolean inserted;
+        try {
+            inserted = contactJdbcRepository.insertIgnoringDuplicatePhone(agendaId, newContact);
+        } catch (DataIntegrityViolationException ex) {
+            if (isForeignKeyViolation(ex)) {
+                throw new EntityNotFoundException("Agenda not found with id: " + agendaId);
+            }
+            throw ex;
+        }
 
-        return contactRepository.save(newContact);
+        if (!inserted) {
+            throw new PhoneAlreadyExistsException("Phone number already registered in this agenda.");
+        }
+
+        contactSuggestionIndex.put(agendaId, newContact.getId(), newContact.getName());
+        return newContact;
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_NAME, key = "#id")
     public Contact findById(UUID id) {
         return contactRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Contact not found with id: " + id));
     }
 
+    /**
+     * Returns the contacts having the given phone, in any agenda, for caller identification.
+     * <p>
+     * Results are kept in a hot-number cache. Once committed, creating (one by one or in bulk) or updating a contact
+     * evicts its new phone, and updating or deleting one, including by name prefix, evicts its previous phone.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PHONE_CACHE_NAME, key = "#areaCode + ':' + #phoneNumber")
+    public List<Contact> findAllByPhone(String areaCode, String phoneNumber) {
+        return contactRepository.findByAreaCodeAndPhoneNumberOrderByName(areaCode, phoneNumber);
+    }
+
+    /**
+     * Full-text search of contact names across every agenda, ignoring accents and case, best matches first.
+     * Every word of the query must match the start of a word of the name, so "jo sil" finds "João da Silva".
+     */
+    @Transactional(readOnly = true)
+    public Page<ContactSearchHitDTO> search(String query, Pageable pageable) {
+        List<String> terms = SEARCH_TERM_SEPARATOR.splitAsStream(Normalizer.normalize(query == null ? "" : query, Normalizer.Form.NFC))
+                .filter(term -> !term.isEmpty())
+                .toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("The search query must contain at least one letter or digit.");
+        }
+
+        // Only letters and digits are kept, so the query cannot inject tsquery operators
+        String tsQuery = terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return contactRepository.search(tsQuery, pageable);
+    }
+
+    /**
+     * Suggests contacts of an agenda as a name is typed, from {@link ContactSuggestionIndex} instead of the database.
+     */
+    public List<ContactSuggestionDTO> suggest(UUID agendaId, String prefix, int limit) {
+        if (limit < 1 || limit > suggestProperties.maxLimit()) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + suggestProperties.maxLimit() + ".");
+        }
+        return contactSuggestionIndex.suggest(agendaId, prefix, limit);
+    }
+
+    /**
+     * Loads the contacts with the given ids in a single query, returning them in request order.
+     * Unknown ids are skipped and repeated ids are returned once.
+     */
+    @Transactional(readOnly = true)
+    public List<Contact> findAllById(List<UUID> ids) {
+        if (ids.size() > bulkProperties.maxIds()) {
+            throw new IllegalArgumentException("Batch get is limited to " + bulkProperties.maxIds() + " ids per request.");
+        }
+
+        Map<UUID, Contact> contactsById = contactRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Contact::getId, Function.identity()));
+        return ids.stream()
+                .distinct()
+                .map(contactsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CACHE_NAME, key = "#id"),
+            evict = @CacheEvict(cacheNames = PHONE_CACHE_NAME, key = "#updateDTO.areaCode() + ':' + #updateDTO.phoneNumber()")
+    )
     public Contact update(UUID id, ContactUpdateDTO updateDTO) {
         Contact contact = findById(id);
 
@@ -71,31 +188,156 @@ public class ContactService {
             }
         });
 
+        // The new phone is evicted by the annotation, the previous one is only known here
+        contactCacheEvictor.evictPhoneAfterCommit(contact.getAreaCode(), contact.getPhoneNumber());
         contact.updateInfo(updateDTO.name(), updateDTO.type(), updateDTO.areaCode(), updateDTO.phoneNumber());
-        return contactRepository.save(contact);
+        contactSuggestionIndex.put(contact.getAgenda().getId(), id, updateDTO.name());
+        // Flush now, so that the cached contact carries the updatedAt set by auditing, which GET uses as its version
+        return contactRepository.saveAndFlush(contact);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#id")
     public void delete(UUID id) {
-        if (!contactRepository.existsById(id)) {
-            throw new EntityNotFoundException("Contact not found with id: " + id);
+        Contact contact = contactRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Contact not found with id: " + id));
+        contactRepository.delete(contact);
+        contactSuggestionIndex.remove(contact.getAgenda().getId(), id);
+        contactCacheEvictor.evictPhoneAfterCommit(contact.getAreaCode(), contact.getPhoneNumber());
+    }
+
+    /**
+     * Returns a page of the contacts of an agenda matching the filters, or nothing when {@code notModified} accepts
+     * their current version, see {@link #findVersionByCriteria}. Contacts are selected directly into response DTOs,
+     * see {@link ContactRepositoryCustom#findResponses}.
+     * <p>
+     * The version and the page are read in the same transaction, and the total is the count of the version,
+     * so no separate count query is needed.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Page<ContactResponseDTO>> findAllByCriteria(UUID agendaId, String nameContains, String phoneContains,
+                                                                Pageable pageable, Predicate<ResourceVersion> notModified) {
+        ResourceVersion version = findVersionByCriteria(agendaId, nameContains, phoneContains);
+        if (notModified.test(version)) {
+            return Optional.empty();
         }
-        contactRepository.deleteById(id);
+
+        Specification<Contact> spec = ContactSpecification.filterBy(agendaId, nameContains, phoneContains);
+        List<ContactResponseDTO> contacts = contactRepository.findResponses(
+                spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        return Optional.of(new PageImpl<>(contacts, pageable, version.count()));
     }
 
+    /**
+     * Returns the version of the contacts of an agenda matching the filters, shared by every page of
+     * {@link #findAllByCriteria}, without loading the contacts.
+     */
     @Transactional(readOnly = true)
-    public Page<Contact> findAllByCriteria(UUID agendaId, String nameContains, String phoneContains, Pageable pageable) {
-        if (!agendaRepository.existsById(agendaId)) {
-            throw new EntityNotFoundException("Agenda not found with id: " + agendaId);
+    public ResourceVersion findVersionByCriteria(UUID agendaId, String nameContains, String phoneContains) {
+        long contactCount = agendaRepository.findContactCountById(agendaId)
+                .orElseThrow(() -> new EntityNotFoundException("Agenda not found with id: " + agendaId));
+
+        if (isBlank(nameContains) && isBlank(phoneContains)) {
+            // Unfiltered: the counter gives the count, the (agenda_id, updated_at) index gives the max
+            return new ResourceVersion(contactRepository.findMaxUpdatedAtByAgendaId(agendaId).orElse(null), contactCount);
+        }
+        return contactRepository.findVersion(ContactSpecification.filterBy(agendaId, nameContains, phoneContains));
+    }
+
+    /**
+     * Count-free variant of {@link #findAllByCriteria}: only reports whether there is a next page.
+     * The version is computed from the fetched rows, see {@link #toSlice}, so no aggregate over the
+     * matching contacts is run either, and the agenda is only looked up when no row is found.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Slice<ContactResponseDTO>> findSliceByCriteria(UUID agendaId, String nameContains, String phoneContains,
+                                                                   Pageable pageable, Predicate<ResourceVersion> notModified) {
+        Specification<Contact> spec = ContactSpecification.filterBy(agendaId, nameContains, phoneContains);
+        // Fetch one extra row to find out whether there is a next slice
+        List<ContactResponseDTO> contacts = contactRepository.findResponses(
+                spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        if (contacts.isEmpty()) {
+            requireAgenda(agendaId);
         }
+        return toSlice(contacts, pageable, notModified);
+    }
 
+    /**
+     * Keyset variant of {@link #findAllByCriteria}: returns up to {@code size} contacts positioned after
+     * {@code after}, ordered by {@link ContactCursor#SORT}, without issuing a count query. As in
+     * {@link #findSliceByCriteria}, the version is computed from the fetched rows, and the agenda is only
+     * looked up when none are found.
+     *
+     * @param after the cursor to resume from, or {@code null} to start from the beginning
+     */
+    @Transactional(readOnly = true)
+    public Optional<Slice<ContactResponseDTO>> findAllByCriteriaAfter(UUID agendaId, String nameContains, String phoneContains,
+                                                                      ContactCursor after, int size,
+                                                                      Predicate<ResourceVersion> notModified) {
         Specification<Contact> spec = ContactSpecification.filterBy(agendaId, nameContains, phoneContains);
-        return contactRepository.findAll(spec, pageable);
+        if (after != null) {
+            spec = spec.and(ContactSpecification.after(after));
+        }
+
+        // Fetch one extra row to find out whether there is a next slice
+        List<ContactResponseDTO> contacts = contactRepository.findResponses(spec, ContactCursor.SORT, 0, size + 1);
+        if (contacts.isEmpty()) {
+            requireAgenda(agendaId);
+        }
+        return toSlice(contacts, PageRequest.of(0, size, ContactCursor.SORT), notModified);
     }
 
-    @Transactional
-    public void deleteContactsByNamePrefix(UUID agendaId, String namePrefix) {
+    /**
+     * Hands every contact of an agenda matching the filters to {@code consumer}, in {@link ContactCursor#SORT} order,
+     * reading them through a database cursor so that memory use does not depend on the agenda size.
+     */
+    @Transactional(readOnly = true)
+    public void exportContacts(UUID agendaId, String nameContains, String phoneContains, ThrowingConsumer<Contact> consumer) {
+        requireAgenda(agendaId);
+
+        Specification<Contact> spec = ContactSpecification.filterBy(agendaId, nameContains, phoneContains);
+        try (Stream<Contact> contacts = contactRepository.streamAll(spec, ContactCursor.SORT, EXPORT_FETCH_SIZE)) {
+            contacts.forEach(consumer);
+        }
+    }
+
+    /**
+     * Deletes the contacts of an agenda whose name starts with {@code namePrefix}, ignoring case.
+     * Runs in chunks, each in its own transaction, see {@link ContactPrefixDeleter}.
+     *
+     * @return the number of deleted contacts
+     */
+    public long deleteContactsByNamePrefix(UUID agendaId, String namePrefix) {
         agendaService.findById(agendaId);
-        contactRepository.deleteByAgendaIdAndNameStartingWithIgnoreCase(agendaId, namePrefix);
+        return contactPrefixDeleter.deleteByNamePrefix(agendaId, namePrefix, deleted -> {});
+    }
+
+    /**
+     * Turns the rows fetched with one extra row into a slice, or nothing when {@code notModified} accepts its version.
+     */
+    private static Optional<Slice<ContactResponseDTO>> toSlice(List<ContactResponseDTO> rows, Pageable pageable,
+                                                               Predicate<ResourceVersion> notModified) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<ContactResponseDTO> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        Slice<ContactResponseDTO> slice = new SliceImpl<>(content, pageable, hasNext);
+        if (notModified.test(ResourceVersion.ofSlice(slice, ContactResponseDTO::id, ContactResponseDTO::updatedAt))) {
+            return Optional.empty();
+        }
+        return Optional.of(slice);
+    }
+
+    private void requireAgenda(UUID agendaId) {
+        if (!agendaRepository.existsById(agendaId)) {
+            throw new EntityNotFoundException("Agenda not found with id: " + agendaId);
+        }
+    }
+
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException ex) {
+        return ex.getMostSpecificCause() instanceof SQLException sqlException
+                && FOREIGN_KEY_VIOLATION_SQL_STATE.equals(sqlException.getSQLState());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 }
@@ -1,13 +1,17 @@
 package br.com.personal.opencontact.api.contact;
 
 import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 public class ContactSpecification {
 
+    private static final char LIKE_ESCAPE_CHAR = '\\';
+
     public static Specification<Contact> filterBy(UUID agendaId, String nameContains, String phoneContains) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -15,20 +19,57 @@ public class ContactSpecification {
             predicates.add(criteriaBuilder.equal(root.get("agenda").get("id"), agendaId));
 
             if (nameContains != null && !nameContains.isBlank()) {
+                // Must stay "lower(name) LIKE" to be served by the idx_contact_name_trgm trigram index
                 predicates.add(criteriaBuilder.like(
                         criteriaBuilder.lower(root.get("name")),
-                        "%" + nameContains.toLowerCase() + "%"
+                        "%" + escapeLikePattern(nameContains.toLowerCase(Locale.ROOT)) + "%",
+                        LIKE_ESCAPE_CHAR
                 ));
             }
 
             if (phoneContains != null && !phoneContains.isBlank()) {
                 // Criamos um predicado que busca em areaCode + phoneNumber
                 var fullPhoneNumber = criteriaBuilder.concat(root.get("areaCode"), root.get("phoneNumber"));
-                predicates.add(criteriaBuilder.like(fullPhoneNumber, "%" + phoneContains + "%"));
+                predicates.add(criteriaBuilder.like(fullPhoneNumber, "%" + escapeLikePattern(phoneContains) + "%", LIKE_ESCAPE_CHAR));
             }
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
 
+    /**
+     * Restricts the results to contacts positioned after the given cursor in {@link ContactCursor#SORT} order.
+     * The redundant {@code name >= ?} bound lets the {@code (agenda_id, name, id)} index seek straight to the cursor.
+     */
+    public static Specification<Contact> after(ContactCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<String> name = root.get("name");
+            Path<UUID> id = root.get("id");
+
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(name, cursor.name()),
+                    criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(name, cursor.name()),
+                            criteriaBuilder.greaterThan(id, cursor.id())
+                    )
+            );
+        };
+    }
+
+    /**
+     * Returns a LIKE pattern, escaped with {@link #LIKE_ESCAPE_CHAR}, matching values starting with {@code prefix}.
+     */
+    static String startsWithPattern(String prefix) {
+        return escapeLikePattern(prefix) + "%";
+    }
+
+    /**
+     * Escapes the LIKE wildcards in user input, so that "%" and "_" are matched literally.
+     */
+    private static String escapeLikePattern(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-memory contact name suggestions.
+ *
+ * @param maxLimit    maximum number of suggestions returned by a single request
+ * @param maxAgendas  maximum number of agendas kept in memory, the least recently used ones are evicted first
+ * @param idleTimeout how long an agenda stays in memory without being queried
+ */
+@ConfigurationProperties(prefix = "opencontact.contacts.suggest")
+public record ContactSuggestProperties(
+        @DefaultValue("50") int maxLimit,
+        @DefaultValue("1000") int maxAgendas,
+        @DefaultValue("10m") Duration idleTimeout
+) {
+}
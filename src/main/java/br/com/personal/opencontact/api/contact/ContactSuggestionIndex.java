@@ -0,0 +1,218 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory index of contact names for keystroke suggestions, so that typeahead does not hit the database.
+ * <p>
+ * Each agenda is loaded on its first lookup and evicted when it has not been queried for a while. The index
+ * is then kept up to date by the contact write paths once their transaction commits, and only reflects the
+ * writes of this instance: changes made by another instance show up after the agenda is evicted and reloaded.
+ */
+@Component
+public class ContactSuggestionIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ContactRepository contactRepository;
+    private final AgendaRepository agendaRepository;
+    private final Cache<UUID, AgendaSuggestions> agendas;
+
+    public ContactSuggestionIndex(ContactRepository contactRepository, AgendaRepository agendaRepository,
+                                  ContactSuggestProperties properties) {
+        this.contactRepository = contactRepository;
+        this.agendaRepository = agendaRepository;
+        this.agendas = Caffeine.newBuilder()
+                .maximumSize(properties.maxAgendas())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    /**
+     * Returns up to {@code limit} contacts of an agenda having a word of their name, and the words after it,
+     * starting with {@code prefix}, ignoring accents and case, ordered by the matching words.
+     */
+    public List<ContactSuggestionDTO> suggest(UUID agendaId, String prefix, int limit) {
+        String key = fold(prefix).stripLeading();
+        AgendaSuggestions suggestions = agendas.get(agendaId, id -> new AgendaSuggestions());
+        try {
+            suggestions.loadIfNeeded(() -> load(agendaId));
+        } catch (EntityNotFoundException ex) {
+            agendas.asMap().remove(agendaId, suggestions);
+            throw ex;
+        }
+        return key.isEmpty() ? List.of() : suggestions.find(key, limit);
+    }
+
+    /**
+     * Adds or renames a contact once the current transaction, if any, commits.
+     */
+    public void put(UUID agendaId, UUID contactId, String name) {
+        afterCommit(() -> {
+            AgendaSuggestions suggestions = agendas.getIfPresent(agendaId);
+            if (suggestions != null) {
+                suggestions.put(contactId, name);
+            }
+        });
+    }
+
+    /**
+     * Removes a contact once the current transaction, if any, commits.
+     */
+    public void remove(UUID agendaId, UUID contactId) {
+        afterCommit(() -> {
+            AgendaSuggestions suggestions = agendas.getIfPresent(agendaId);
+            if (suggestions != null) {
+                suggestions.remove(contactId);
+            }
+        });
+    }
+
+    /**
+     * Removes the contacts whose name starts with {@code namePrefix}, ignoring case, as deleted by
+     * {@link ContactPrefixDeleter}, once the current transaction, if any, commits.
+     */
+    public void removeByNamePrefix(UUID agendaId, String namePrefix) {
+        String lowerPrefix = namePrefix.toLowerCase(Locale.ROOT);
+        afterCommit(() -> {
+            AgendaSuggestions suggestions = agendas.getIfPresent(agendaId);
+            if (suggestions != null) {
+                suggestions.removeIf(name -> name.toLowerCase(Locale.ROOT).startsWith(lowerPrefix));
+            }
+        });
+    }
+
+    private Map<UUID, String> load(UUID agendaId) {
+        if (!agendaRepository.existsById(agendaId)) {
+            throw new EntityNotFoundException("Agenda not found with id: " + agendaId);
+        }
+        Map<UUID, String> names = new HashMap<>();
+        for (ContactSuggestionDTO contact : contactRepository.findSuggestionsByAgendaId(agendaId)) {
+            names.put(contact.id(), contact.name());
+        }
+        return names;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Lowercases {@code text}, strips its accents and collapses its whitespace, keeping a trailing space so
+     * that "ana " only matches a complete word.
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String unaccented = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * The names of one agenda, indexed once per word start, e.g. "João da Silva" under "joao da silva",
+     * "da silva" and "silva". Lookups are lock-free; writes and the initial load are serialized, so a write
+     * that commits while the agenda is loading is applied after the load and never lost.
+     */
+    static final class AgendaSuggestions {
+
+        private final ConcurrentSkipListMap<String, ContactSuggestionDTO> entries = new ConcurrentSkipListMap<>();
+        private final Map<UUID, String> namesById = new HashMap<>();
+        private volatile boolean loaded;
+
+        void loadIfNeeded(Supplier<Map<UUID, String>> loader) {
+            if (loaded) {
+                return;
+            }
+            synchronized (this) {
+                if (!loaded) {
+                    loader.get().forEach(this::put);
+                    loaded = true;
+                }
+            }
+        }
+
+        List<ContactSuggestionDTO> find(String prefix, int limit) {
+            Set<ContactSuggestionDTO> found = new LinkedHashSet<>();
+            for (Map.Entry<String, ContactSuggestionDTO> entry : entries.tailMap(prefix).entrySet()) {
+                if (found.size() == limit || !entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                found.add(entry.getValue());
+            }
+            return List.copyOf(found);
+        }
+
+        synchronized void put(UUID id, String name) {
+            remove(id);
+            add(id, name);
+        }
+
+        synchronized void remove(UUID id) {
+            String name = namesById.remove(id);
+            if (name != null) {
+                keys(id, name).forEach(entries::remove);
+            }
+        }
+
+        synchronized void removeIf(Predicate<String> namePredicate) {
+            List<UUID> ids = new ArrayList<>();
+            namesById.forEach((id, name) -> {
+                if (namePredicate.test(name)) {
+                    ids.add(id);
+                }
+            });
+            ids.forEach(this::remove);
+        }
+
+        private void add(UUID id, String name) {
+            namesById.put(id, name);
+            ContactSuggestionDTO suggestion = new ContactSuggestionDTO(id, name);
+            keys(id, name).forEach(key -> entries.put(key, suggestion));
+        }
+
+        private static List<String> keys(UUID id, String name) {
+            String folded = fold(name).strip();
+            List<String> keys = new ArrayList<>();
+            int start = 0;
+            while (true) {
+                keys.add(folded.substring(start) + KEY_SEPARATOR + id);
+                int space = folded.indexOf(' ', start);
+                if (space < 0) {
+                    return keys;
+                }
+                start = space + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ContactBatchGetDTO(
+        @NotEmpty List<@NotNull UUID> ids
+) {
+}
@@ -0,0 +1,30 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import br.com.personal.opencontact.api.contact.Contact;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public record ContactBatchGetResponseDTO(
+        List<ContactResponseDTO> contacts,
+        List<UUID> missing
+) {
+
+    /**
+     * Factory method to create a ContactBatchGetResponseDTO from the requested ids and the contacts found.
+     *
+     * @param ids the requested ids, in request order
+     * @param contacts the contacts found, in request order
+     * @return a ContactBatchGetResponseDTO with the contacts found and the ids that were not
+     */
+    public static ContactBatchGetResponseDTO fromContacts(List<UUID> ids, List<Contact> contacts) {
+        Set<UUID> missing = new LinkedHashSet<>(ids);
+        contacts.forEach(contact -> missing.remove(contact.getId()));
+        return new ContactBatchGetResponseDTO(
+                contacts.stream().map(ContactResponseDTO::fromEntity).toList(),
+                List.copyOf(missing)
+        );
+    }
+}
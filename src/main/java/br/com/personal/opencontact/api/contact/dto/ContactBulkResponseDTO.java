@@ -0,0 +1,31 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.List;
+
+public record ContactBulkResponseDTO(
+        int created,
+        int duplicates,
+        int invalid,
+        List<ContactBulkRowResultDTO> rows
+) {
+
+    /**
+     * Factory method to create a ContactBulkResponseDTO summarizing the given row results.
+     *
+     * @param rows the per-row results, in request order
+     * @return a ContactBulkResponseDTO with the counts of each outcome
+     */
+    public static ContactBulkResponseDTO fromRows(List<ContactBulkRowResultDTO> rows) {
+        int created = 0;
+        int duplicates = 0;
+        int invalid = 0;
+        for (ContactBulkRowResultDTO row : rows) {
+            switch (row.status()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+            }
+        }
+        return new ContactBulkResponseDTO(created, duplicates, invalid, rows);
+    }
+}
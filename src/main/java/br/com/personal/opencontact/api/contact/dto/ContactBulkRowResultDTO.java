@@ -0,0 +1,30 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record ContactBulkRowResultDTO(
+        int index,
+        Status status,
+        UUID id,
+        Map<String, String> errors
+) {
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static ContactBulkRowResultDTO created(int index, UUID id) {
+        return new ContactBulkRowResultDTO(index, Status.CREATED, id, null);
+    }
+
+    public static ContactBulkRowResultDTO duplicate(int index) {
+        return new ContactBulkRowResultDTO(index, Status.DUPLICATE, null,
+                Map.of("phoneNumber", "Phone number already registered in this agenda."));
+    }
+
+    public static ContactBulkRowResultDTO invalid(int index, Map<String, String> errors) {
+        return new ContactBulkRowResultDTO(index, Status.INVALID, null, errors);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.UUID;
+
+/**
+ * A change of the contacts of an agenda. {@code contact} holds the current state of the contact,
+ * and is {@code null} for deletions.
+ */
+public record ContactChangeDTO(
+        long seq,
+        Operation operation,
+        UUID contactId,
+        ContactResponseDTO contact
+) {
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
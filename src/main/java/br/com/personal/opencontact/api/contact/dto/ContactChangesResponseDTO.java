@@ -0,0 +1,15 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.List;
+
+/**
+ * @param changes   the changes after the requested token, oldest first, at most one per contact
+ * @param nextToken the token to send as {@code since} in the next request
+ * @param hasMore   whether more changes are already available after {@code nextToken}
+ */
+public record ContactChangesResponseDTO(
+        List<ContactChangeDTO> changes,
+        long nextToken,
+        boolean hasMore
+) {
+}
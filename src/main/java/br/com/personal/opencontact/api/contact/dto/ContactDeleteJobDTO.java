@@ -0,0 +1,35 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.UUID;
+
+public record ContactDeleteJobDTO(
+        UUID id,
+        UUID agendaId,
+        String namePrefix,
+        Status status,
+        long deleted,
+        String error
+) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static ContactDeleteJobDTO running(UUID id, UUID agendaId, String namePrefix) {
+        return new ContactDeleteJobDTO(id, agendaId, namePrefix, Status.RUNNING, 0, null);
+    }
+
+    public ContactDeleteJobDTO withDeleted(long deleted) {
+        return new ContactDeleteJobDTO(id, agendaId, namePrefix, status, deleted, error);
+    }
+
+    public ContactDeleteJobDTO completed(long deleted) {
+        return new ContactDeleteJobDTO(id, agendaId, namePrefix, Status.COMPLETED, deleted, null);
+    }
+
+    public ContactDeleteJobDTO failed(String error) {
+        return new ContactDeleteJobDTO(id, agendaId, namePrefix, Status.FAILED, deleted, error);
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+public record ContactDeleteResponseDTO(
+        long deleted
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.List;
+
+public record ContactDuplicateGroupDTO(
+        String phoneKey,
+        List<ContactPhoneMatchDTO> contacts
+) {
+}
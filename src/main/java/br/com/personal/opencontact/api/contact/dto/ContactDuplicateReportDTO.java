@@ -0,0 +1,37 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ContactDuplicateReportDTO(
+        UUID agendaId,
+        Status status,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt,
+        long scannedContacts,
+        List<ContactDuplicateGroupDTO> groups,
+        String error
+) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public static ContactDuplicateReportDTO running(UUID agendaId, LocalDateTime startedAt) {
+        return new ContactDuplicateReportDTO(agendaId, Status.RUNNING, startedAt, null, 0, List.of(), null);
+    }
+
+    public static ContactDuplicateReportDTO completed(UUID agendaId, LocalDateTime startedAt, long scannedContacts,
+                                                      List<ContactDuplicateGroupDTO> groups) {
+        return new ContactDuplicateReportDTO(agendaId, Status.COMPLETED, startedAt, LocalDateTime.now(),
+                scannedContacts, groups, null);
+    }
+
+    public ContactDuplicateReportDTO failed(String error) {
+        return new ContactDuplicateReportDTO(agendaId, Status.FAILED, startedAt, LocalDateTime.now(),
+                scannedContacts, groups, error);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.ContactType;
+
+import java.util.UUID;
+
+public record ContactPhoneMatchDTO(
+        UUID id,
+        UUID agendaId,
+        String name,
+        ContactType type,
+        String areaCode,
+        String phoneNumber
+) {
+
+    public static ContactPhoneMatchDTO fromEntity(Contact contact) {
+        return new ContactPhoneMatchDTO(
+                contact.getId(),
+                contact.getAgenda().getId(),
+                contact.getName(),
+                contact.getType(),
+                contact.getAreaCode(),
+                contact.getPhoneNumber()
+        );
+    }
+}
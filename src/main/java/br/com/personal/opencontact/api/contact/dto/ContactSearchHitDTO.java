@@ -0,0 +1,16 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import br.com.personal.opencontact.api.contact.ContactType;
+
+import java.util.UUID;
+
+public record ContactSearchHitDTO(
+        UUID id,
+        UUID agendaId,
+        String name,
+        ContactType type,
+        String areaCode,
+        String phoneNumber,
+        float rank
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.personal.opencontact.api.contact.dto;
+
+import java.util.UUID;
+
+public record ContactSuggestionDTO(
+        UUID id,
+        String name
+) {
+}
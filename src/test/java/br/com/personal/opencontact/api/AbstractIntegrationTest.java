@@ -7,8 +7,8 @@ import org.springframework.test.context.TestPropertySource;
 @ContextConfiguration(initializers = {PostgresContainerInitializer.class})
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestPropertySource(properties = {
-        "spring.liquibase.enabled=false",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.liquibase.contexts=integration-test",
+        "spring.jpa.hibernate.ddl-auto=validate"
 })
 public abstract class AbstractIntegrationTest {
 
@@ -0,0 +1,86 @@
+package br.com.personal.opencontact.api.agenda;
+
+import br.com.personal.opencontact.api.AbstractIntegrationTest;
+import br.com.personal.opencontact.api.agenda.dto.AgendaUpdateDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional: the cache advice runs outside the service transactions, so it must see them commit or roll back.
+ */
+class AgendaCacheIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Agenda savedAgenda;
+    private Cache agendaCache;
+
+    @BeforeEach
+    void setUp() {
+        savedAgenda = agendaRepository.save(new Agenda("Cache Agenda"));
+        agendaCache = cacheManager.getCache(AgendaService.CACHE_NAME);
+        agendaService.findById(savedAgenda.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Ignored when the test already deleted it
+        agendaRepository.deleteById(savedAgenda.getId());
+    }
+
+    @Test
+    @DisplayName("update should replace the cached agenda with the updated one")
+    void update_shouldRefreshCachedAgenda() {
+        // Act
+        agendaService.update(savedAgenda.getId(), new AgendaUpdateDTO("Cache Agenda Renomeada"));
+
+        // Assert
+        assertThat(agendaCache.get(savedAgenda.getId(), Agenda.class)).extracting(Agenda::getName)
+                .isEqualTo("Cache Agenda Renomeada");
+        assertThat(agendaService.findById(savedAgenda.getId()).getName()).isEqualTo("Cache Agenda Renomeada");
+    }
+
+    @Test
+    @DisplayName("delete should evict the cached agenda")
+    void delete_shouldEvictCachedAgenda() {
+        // Act
+        agendaService.delete(savedAgenda.getId());
+
+        // Assert
+        assertThat(agendaCache.get(savedAgenda.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("update rolled back by a failing flush should leave the cached agenda untouched")
+    void update_shouldLeaveCachedAgendaUntouched_whenRolledBack() {
+        // Arrange
+        // Longer than the name column, so the flush fails after the entity was changed
+        var tooLong = new AgendaUpdateDTO("A".repeat(300));
+
+        // Act
+        assertThatThrownBy(() -> agendaService.update(savedAgenda.getId(), tooLong))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // Assert
+        assertThat(agendaCache.get(savedAgenda.getId(), Agenda.class)).extracting(Agenda::getName)
+                .isEqualTo("Cache Agenda");
+        assertThat(agendaRepository.findById(savedAgenda.getId())).get().extracting(Agenda::getName)
+                .isEqualTo("Cache Agenda");
+    }
+}
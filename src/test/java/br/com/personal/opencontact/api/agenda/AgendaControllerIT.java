@@ -2,20 +2,25 @@ package br.com.personal.opencontact.api.agenda;
 
 import br.com.personal.opencontact.api.AbstractIntegrationTest;
 import br.com.personal.opencontact.api.agenda.dto.AgendaCreateDTO;
+import br.com.personal.opencontact.api.agenda.dto.AgendaUpdateDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static br.com.personal.opencontact.api.common.jdbc.SqlStatementMatchers.sqlStatements;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @AutoConfigureMockMvc
@@ -49,4 +54,76 @@ class AgendaControllerIT extends AbstractIntegrationTest {
         assertThat(agendas).hasSize(1);
         assertThat(agendas.getFirst().getName()).isEqualTo("Familia");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /agendas/{id} should return 304 from the cache while the ETag matches and 200 once the agenda changes")
+    void getAgenda_whenIfNoneMatchMatches_shouldReturn304UntilModified() throws Exception {
+        // Arrange
+        Agenda agenda = agendaRepository.saveAndFlush(new Agenda("Familia"));
+
+        String eTag = mockMvc.perform(get("/agendas/{id}", agenda.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas/{id}", agenda.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""))
+                .andExpect(sqlStatements(0));
+
+        mockMvc.perform(put("/agendas/{id}", agenda.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AgendaUpdateDTO("Trabalho"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/agendas/{id}", agenda.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Trabalho"));
+    }
+
+    @Test
+    @DisplayName("GET /agendas should return 304 while no agenda is added, changed or removed")
+    void getAgendas_whenIfNoneMatchMatches_shouldReturn304UntilCollectionChanges() throws Exception {
+        // Arrange
+        agendaRepository.saveAndFlush(new Agenda("Familia"));
+
+        String eTag = mockMvc.perform(get("/agendas"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        agendaRepository.saveAndFlush(new Agenda("Trabalho"));
+
+        mockMvc.perform(get("/agendas").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /agendas should read the version and the page without a count query, and slices neither")
+    void getAgendas_shouldNotCountAgendas() throws Exception {
+        // Arrange
+        agendaRepository.saveAndFlush(new Agenda("Familia"));
+        agendaRepository.saveAndFlush(new Agenda("Trabalho"));
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(sqlStatements(2));
+
+        String eTag = mockMvc.perform(get("/agendas").param("mode", "slice").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatements(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/agendas").param("mode", "slice").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -1,8 +1,10 @@
 package br.com.personal.opencontact.api.agenda;
 
 import br.com.personal.opencontact.api.agenda.dto.AgendaCreateDTO;
+import br.com.personal.opencontact.api.agenda.dto.AgendaResponseDTO;
 import br.com.personal.opencontact.api.agenda.dto.AgendaUpdateDTO;
 import br.com.personal.opencontact.api.common.exceptions.AgendaNameAlreadyExistsException;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
 import br.com.personal.opencontact.api.contact.ContactRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +14,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -109,7 +118,7 @@ public class AgendaServiceTest {
 
         when(agendaRepository.findById(agendaId)).thenReturn(Optional.of(originalAgenda));
         when(agendaRepository.findByNameIgnoreCase("Trabalho Novo")).thenReturn(Optional.empty());
-        when(agendaRepository.save(any(Agenda.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(agendaRepository.saveAndFlush(any(Agenda.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Agenda updatedAgenda = agendaService.update(agendaId, updateDTO);
 
@@ -118,7 +127,7 @@ public class AgendaServiceTest {
         assertThat(updatedAgenda.getName()).isEqualTo("Trabalho Novo");
         verify(agendaRepository).findById(agendaId);
         verify(agendaRepository).findByNameIgnoreCase("Trabalho Novo");
-        verify(agendaRepository).save(originalAgenda);
+        verify(agendaRepository).saveAndFlush(originalAgenda);
     }
 
     @Test
@@ -143,7 +152,7 @@ public class AgendaServiceTest {
 
         verify(agendaRepository).findById(agendaToUpdateId);
         verify(agendaRepository).findByNameIgnoreCase("Amigos");
-        verify(agendaRepository, never()).save(any(Agenda.class));
+        verify(agendaRepository, never()).saveAndFlush(any(Agenda.class));
     }
 
     @Test
@@ -178,4 +187,57 @@ public class AgendaServiceTest {
         verify(agendaRepository, never()).deleteById(any(UUID.class));
     }
 
+    @Test
+    @DisplayName("findAllSlice should return a slice without counting agendas")
+    void findAllSlice_shouldReturnSliceWithoutCounting() {
+        var pageable = PageRequest.of(0, 1);
+        var agenda = new AgendaResponseDTO(UUID.randomUUID(), "Familia", LocalDateTime.now(), LocalDateTime.now());
+        when(agendaRepository.findResponseSlice(pageable)).thenReturn(new SliceImpl<>(List.of(agenda), pageable, true));
+
+        Slice<AgendaResponseDTO> slice = agendaService.findAllSlice(pageable, version -> false).orElseThrow();
+
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice.getContent().get(0)).isEqualTo(agenda);
+        verify(agendaRepository, never()).count();
+        verify(agendaRepository, never()).findVersion();
+    }
+
+    @Test
+    @DisplayName("findAllSlice should return nothing when the version of the slice is not modified")
+    void findAllSlice_shouldReturnEmpty_whenSliceNotModified() {
+        var pageable = PageRequest.of(0, 1);
+        var agenda = new AgendaResponseDTO(UUID.randomUUID(), "Familia", LocalDateTime.now(), LocalDateTime.now());
+        var slice = new SliceImpl<>(List.of(agenda), pageable, true);
+        var version = ResourceVersion.ofSlice(slice, AgendaResponseDTO::id, AgendaResponseDTO::updatedAt);
+        when(agendaRepository.findResponseSlice(pageable)).thenReturn(slice);
+
+        assertThat(agendaService.findAllSlice(pageable, version::equals)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findAll should use the count of the version as the total instead of counting again")
+    void findAll_shouldUseVersionCount() {
+        var pageable = PageRequest.of(0, 1);
+        var agenda = new AgendaResponseDTO(UUID.randomUUID(), "Familia", LocalDateTime.now(), LocalDateTime.now());
+        when(agendaRepository.findVersion()).thenReturn(new ResourceVersion(agenda.updatedAt(), 7));
+        when(agendaRepository.findResponses(pageable)).thenReturn(List.of(agenda));
+
+        Page<AgendaResponseDTO> page = agendaService.findAll(pageable, version -> false).orElseThrow();
+
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(page.getContent().get(0)).isEqualTo(agenda);
+        verify(agendaRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("findAll should return nothing without loading the page when the version is not modified")
+    void findAll_shouldReturnEmpty_whenNotModified() {
+        var pageable = PageRequest.of(0, 1);
+        var version = new ResourceVersion(LocalDateTime.now(), 7);
+        when(agendaRepository.findVersion()).thenReturn(version);
+
+        assertThat(agendaService.findAll(pageable, version::equals)).isEmpty();
+
+        verify(agendaRepository, never()).findResponses(any());
+    }
 }
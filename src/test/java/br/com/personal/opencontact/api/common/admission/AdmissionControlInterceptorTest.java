@@ -0,0 +1,106 @@
+package br.com.personal.opencontact.api.common.admission;
+
+import br.com.personal.opencontact.api.common.config.AdmissionProperties;
+import br.com.personal.opencontact.api.common.config.AdmissionProperties.Route;
+import br.com.personal.opencontact.api.common.exceptions.ServiceOverloadedException;
+import br.com.personal.opencontact.api.common.exceptions.TooManyRequestsException;
+import br.com.personal.opencontact.api.common.jdbc.ConnectionPoolPressure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlInterceptorTest {
+
+    private static final String SEARCH_PATTERN = "/agendas/{agendaId}/contacts";
+    private static final String GATEWAY_ADDRESS = "10.0.0.1";
+
+    @Mock
+    private ConnectionPoolPressure poolPressure;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdmissionControlInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new AdmissionProperties(true, "X-Client-Id", Set.of(GATEWAY_ADDRESS), 1000, Duration.ofMinutes(10), Duration.ofSeconds(1),
+                new Route(null, null, 0, 0, 20),
+                Map.of("contact-search", new Route(SEARCH_PATTERN, "GET", 1, 1, 5)));
+        interceptor = new AdmissionControlInterceptor(properties, poolPressure, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("preHandle should rate limit each agenda and client separately")
+    void preHandle_shouldRateLimitPerAgendaAndClient() {
+        // Arrange
+        when(poolPressure.pendingConnections()).thenReturn(0);
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(search("agenda-1", "client-a"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(search("agenda-2", "client-a"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(search("agenda-1", "client-b"), new MockHttpServletResponse(), null)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(search("agenda-1", "client-a"), new MockHttpServletResponse(), null))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        assertThat(meterRegistry.get("opencontact.admission.rejections")
+                .tag("route", "contact-search").tag("reason", "rate_limited").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("preHandle should ignore the client id header when the request does not come from a trusted proxy")
+    void preHandle_shouldKeyOnRemoteAddress_whenNotFromTrustedProxy() {
+        // Arrange
+        when(poolPressure.pendingConnections()).thenReturn(0);
+        var first = search("agenda-1", "client-a");
+        first.setRemoteAddr("203.0.113.7");
+        var second = search("agenda-1", "client-b");
+        second.setRemoteAddr("203.0.113.7");
+
+        // Act & Assert
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), null)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(second, new MockHttpServletResponse(), null))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("preHandle should shed with the route threshold when too many threads wait for a connection")
+    void preHandle_shouldShed_whenPendingConnectionsExceedRouteThreshold() {
+        // Arrange
+        when(poolPressure.pendingConnections()).thenReturn(6);
+        var other = new MockHttpServletRequest("GET", "/contacts/1");
+        other.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/contacts/{id}");
+
+        // Act & Assert
+        assertThatThrownBy(() -> interceptor.preHandle(search("agenda-1", "client-a"), new MockHttpServletResponse(), null))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(interceptor.preHandle(other, new MockHttpServletResponse(), null)).isTrue();
+
+        assertThat(meterRegistry.get("opencontact.admission.rejections")
+                .tag("route", "contact-search").tag("reason", "overloaded").counter().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest search(String agendaId, String clientId) {
+        var request = new MockHttpServletRequest("GET", "/agendas/" + agendaId + "/contacts");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, SEARCH_PATTERN);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("agendaId", agendaId));
+        request.setRemoteAddr(GATEWAY_ADDRESS);
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.personal.opencontact.api.common.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("tryAcquire should allow a burst, then report the wait until the next token")
+    void tryAcquire_shouldAllowBurstThenReportWait() {
+        // Arrange
+        var bucket = new TokenBucket(10, 3);
+        long now = 5 * SECOND;
+
+        // Act & Assert
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("tryAcquire should refill at the configured rate without exceeding the burst")
+    void tryAcquire_shouldRefillAtRate() {
+        // Arrange
+        var bucket = new TokenBucket(10, 2);
+        long now = 5 * SECOND;
+        bucket.tryAcquire(now);
+        bucket.tryAcquire(now);
+
+        // Act & Assert
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(now + SECOND / 10)).isPositive();
+
+        long later = now + 10 * SECOND;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.personal.opencontact.api.common.aot;
+
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
+import br.com.personal.opencontact.api.common.id.UuidV7Generator;
+import br.com.personal.opencontact.api.contact.Contact;
+import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.PreparedStatement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    @Test
+    @DisplayName("registerHints should cover the changelog, the reflective constructors, entities, JSON bindings and JDBC proxies")
+    void registerHints_shouldCoverReflectiveAccess() {
+        // Arrange
+        var hints = new RuntimeHints();
+
+        // Act
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/changelog/db.changelog-master.xml")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/changelog/scripts/010-add-contact-full-text-search.xml")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ResourceVersion.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(UuidV7Generator.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Contact.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ContactCreateDTO.class, "name")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ConnectionProxy.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(PreparedStatement.class)).accepts(hints);
+    }
+}
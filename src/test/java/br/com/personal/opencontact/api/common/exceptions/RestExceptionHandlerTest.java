@@ -0,0 +1,43 @@
+package br.com.personal.opencontact.api.common.exceptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestExceptionHandler restExceptionHandler = new RestExceptionHandler(meterRegistry);
+
+    @Test
+    @DisplayName("conflict handlers should return 409 and count the conflict by exception")
+    void conflictHandlers_shouldReturn409AndCountConflicts() {
+        var phoneResponse = restExceptionHandler.handlePhoneAlreadyExists(new PhoneAlreadyExistsException("phone"));
+        restExceptionHandler.handlePhoneAlreadyExists(new PhoneAlreadyExistsException("phone"));
+        restExceptionHandler.handleAgendaNameAlreadyExists(new AgendaNameAlreadyExistsException("name"));
+
+        assertThat(phoneResponse.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(meterRegistry.get("opencontact.conflicts").tag("exception", "PhoneAlreadyExistsException").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("opencontact.conflicts").tag("exception", "AgendaNameAlreadyExistsException").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("admission handlers should return 429 and 503 with Retry-After rounded up to whole seconds")
+    void admissionHandlers_shouldReturnRetryAfterInWholeSeconds() {
+        var rateLimited = restExceptionHandler.handleTooManyRequests(new TooManyRequestsException("slow down", Duration.ofMillis(1200)));
+        var overloaded = restExceptionHandler.handleServiceOverloaded(new ServiceOverloadedException("overloaded", Duration.ofMillis(10)));
+
+        assertThat(rateLimited.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rateLimited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(overloaded.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(overloaded.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.personal.opencontact.api.common.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("generate should produce version 7 ids carrying the current Unix time in milliseconds")
+    void generate_shouldProduceVersion7IdsWithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // Overflowing the per-millisecond counter may move the timestamp slightly ahead
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1);
+    }
+
+    @Test
+    @DisplayName("generate should produce strictly increasing ids, even within the same millisecond")
+    void generate_shouldProduceStrictlyIncreasingIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.generate());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).getMostSignificantBits()).isGreaterThan(ids.get(i - 1).getMostSignificantBits());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyGatedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyGatedDataSource gatedDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gatedDataSource = new ConcurrencyGatedDataSource(target, 1, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("getConnection should time out when every permit is in use")
+    void getConnection_shouldTimeOut_whenAllPermitsAreInUse() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        gatedDataSource.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(() -> gatedDataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get("db.gate.active").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.gate.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("close should release the permit only once")
+    void close_shouldReleasePermitOnce() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        Connection gatedConnection = gatedDataSource.getConnection();
+
+        // Act
+        gatedConnection.close();
+        gatedConnection.close();
+
+        // Assert
+        assertThat(meterRegistry.get("db.gate.active").gauge().value()).isZero();
+        verify(connection, times(2)).close();
+        gatedDataSource.getConnection();
+        assertThatThrownBy(() -> gatedDataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    @DisplayName("getConnection should release the permit when the pool fails")
+    void getConnection_shouldReleasePermit_whenPoolFails() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gatedDataSource.getConnection()).hasMessage("pool exhausted");
+        assertThat(meterRegistry.get("db.gate.active").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import br.com.personal.opencontact.api.AbstractIntegrationTest;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two independent databases standing in for a primary and its replica, so that the
+ * database a statement was routed to can be told from the data it sees.
+ */
+@AutoConfigureMockMvc
+class ReadReplicaRoutingIT extends AbstractIntegrationTest {
+
+    private static final PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    static {
+        replicaContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("opencontact.datasource.replica.enabled", () -> "true");
+        registry.add("opencontact.datasource.replica.url", replicaContainer::getJdbcUrl);
+        registry.add("opencontact.datasource.replica.username", replicaContainer::getUsername);
+        registry.add("opencontact.datasource.replica.password", replicaContainer::getPassword);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private static JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeAll
+    static void migrateReplica() throws Exception {
+        DataSource replica = new DriverManagerDataSource(
+                replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword());
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(replica);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setContexts("integration-test");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+    }
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(dataSource).update("DELETE FROM contacts; DELETE FROM agendas");
+        replicaJdbcTemplate.update("DELETE FROM contacts; DELETE FROM agendas");
+    }
+
+    @Test
+    @DisplayName("read-only requests should be served by the replica")
+    void getAgendas_shouldReadFromReplica() throws Exception {
+        // Arrange
+        replicaJdbcTemplate.update("INSERT INTO agendas (id, name, created_at, updated_at) VALUES (?, 'Replica', now(), now())",
+                UUID.randomUUID());
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Replica"));
+    }
+
+    @Test
+    @DisplayName("writing requests should be served by the primary")
+    void postAgenda_shouldWriteToPrimary() throws Exception {
+        // Act
+        mockMvc.perform(post("/agendas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Primary\"}"))
+                .andExpect(status().isCreated());
+
+        // Assert
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT count(*) FROM agendas WHERE name = 'Primary'", Long.class))
+                .isEqualTo(1);
+        assertThat(replicaJdbcTemplate.queryForObject("SELECT count(*) FROM agendas", Long.class))
+                .isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+        routingDataSource.setDefaultAutoCommit(true);
+        routingDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        ReplicaRoutingContext.begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.end();
+    }
+
+    @Test
+    @DisplayName("getConnection should use the replica for read-only connections and the primary otherwise")
+    void getConnection_shouldRouteByReadOnlyFlag() throws SQLException {
+        // Arrange
+        when(replica.getConnection()).thenReturn(connection);
+        when(primary.getConnection()).thenReturn(connection);
+
+        // Act
+        runStatement(true);
+        runStatement(false);
+
+        // Assert
+        verify(replica).getConnection();
+        verify(primary).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection should keep read-only connections on the primary once the request wrote")
+    void getConnection_shouldReadFromPrimary_afterRequestWrote() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(connection);
+
+        // Act
+        runStatement(false);
+        runStatement(true);
+
+        // Assert
+        verify(primary, times(2)).getConnection();
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    @DisplayName("getConnection should fall back to the primary while the replica is unavailable")
+    void getConnection_shouldFallBackToPrimary_whenReplicaFails() throws SQLException {
+        // Arrange
+        when(replica.getConnection()).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection()).thenReturn(connection);
+        ReplicaRoutingContext.end();
+
+        // Act
+        runStatement(true);
+        runStatement(true);
+
+        // Assert
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+    }
+
+    private void runStatement(boolean readOnly) throws SQLException {
+        try (Connection routed = routingDataSource.getConnection()) {
+            routed.setReadOnly(readOnly);
+            routed.createStatement();
+        }
+    }
+}
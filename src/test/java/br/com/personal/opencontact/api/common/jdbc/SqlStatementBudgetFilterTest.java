@@ -0,0 +1,65 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementBudgetFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new SqlStatementBudgetFilter(2, Duration.ofSeconds(1), meterRegistry);
+        request = new MockHttpServletRequest("GET", "/agendas/1/contacts");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/agendas/{agendaId}/contacts");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("doFilter should report the statements run before the body was written")
+    void doFilter_shouldReportStatementsInHeadersAndMetrics() throws Exception {
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            SqlStatementContext.record(Duration.ofMillis(3).toNanos());
+            SqlStatementContext.record(Duration.ofMillis(2).toNanos());
+            res.getWriter().write("[]");
+            SqlStatementContext.record(Duration.ofMillis(1).toNanos());
+        });
+
+        // Assert
+        assertThat(response.getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(SqlStatementBudgetFilter.SERVER_TIMING_HEADER)).isEqualTo("db;dur=5.0");
+        assertThat(meterRegistry.get("opencontact.sql.statements")
+                .tags("uri", "/agendas/{agendaId}/contacts", "budget", "exceeded")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("opencontact.sql.time").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(6);
+        assertThat(SqlStatementContext.current().statements()).isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter should add the headers when no body is written")
+    void doFilter_shouldReportStatements_whenResponseHasNoBody() throws Exception {
+        // Act
+        filter.doFilter(request, response, (req, res) -> SqlStatementContext.record(1));
+
+        // Assert
+        assertThat(response.getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER)).isEqualTo("1");
+        assertThat(meterRegistry.get("opencontact.sql.statements").tag("budget", "within").summary().count())
+                .isEqualTo(1);
+    }
+}
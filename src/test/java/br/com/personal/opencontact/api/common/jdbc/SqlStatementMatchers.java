@@ -0,0 +1,36 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc assertions on the SQL statements run by a request, as reported by {@link SqlStatementBudgetFilter}.
+ * <p>
+ * Statements are those run while handling the request only: entities saved but not yet flushed by the test itself
+ * would be flushed, and counted, by the first query of the request, so flush them beforehand.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher sqlStatements(int expected) {
+        return result -> assertThat(sqlStatementsOf(result))
+                .as("SQL statements run by %s", result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    public static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> assertThat(sqlStatementsOf(result))
+                .as("SQL statements run by %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static int sqlStatementsOf(MvcResult result) {
+        String statements = result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER);
+        assertThat(statements).as("%s header", SqlStatementBudgetFilter.STATEMENTS_HEADER).isNotNull();
+        return Integer.parseInt(statements);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.personal.opencontact.api.common.jdbc;
+
+import br.com.personal.opencontact.api.common.jdbc.SqlStatementContext.SqlStatementStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementCountingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementContext.end();
+    }
+
+    @Test
+    @DisplayName("prepared statements should count each execution, a batch counting once")
+    void prepareStatement_shouldCountEachExecution() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        var dataSource = new StatementCountingDataSource(target);
+        SqlStatementContext.begin();
+
+        // Act
+        try (Connection countingConnection = dataSource.getConnection();
+             PreparedStatement countingStatement = countingConnection.prepareStatement("SELECT 1")) {
+            countingStatement.executeQuery();
+            countingStatement.setInt(1, 1);
+            countingStatement.addBatch();
+            countingStatement.executeBatch();
+            assertThat(countingStatement.getConnection()).isSameAs(countingConnection);
+        }
+
+        // Assert
+        SqlStatementStatistics statistics = SqlStatementContext.end();
+        assertThat(statistics.statements()).isEqualTo(2);
+        verify(statement).executeQuery();
+        verify(statement).executeBatch();
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("statements should not be counted outside of a request")
+    void execute_shouldNotCount_whenContextNotStarted() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        var dataSource = new StatementCountingDataSource(target);
+
+        // Act
+        dataSource.getConnection().prepareStatement("SELECT 1").execute();
+
+        // Assert
+        assertThat(SqlStatementContext.current().statements()).isZero();
+        verify(statement).execute();
+    }
+}
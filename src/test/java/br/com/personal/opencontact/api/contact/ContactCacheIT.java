@@ -0,0 +1,171 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.AbstractIntegrationTest;
+import br.com.personal.opencontact.api.agenda.Agenda;
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactUpdateDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: cache entries are evicted once the writes commit, which a rolled back test transaction never does.
+ */
+@AutoConfigureMockMvc
+class ContactCacheIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Agenda savedAgenda;
+    private Contact savedContact;
+    private Cache contactCache;
+
+    @BeforeEach
+    void setUp() {
+        savedAgenda = agendaRepository.save(new Agenda("Cache"));
+        savedContact = contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "966660000", savedAgenda));
+        contactCache = cacheManager.getCache(ContactService.CACHE_NAME);
+        contactService.findById(savedContact.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contacts WHERE agenda_id = ?", savedAgenda.getId());
+        jdbcTemplate.update("DELETE FROM agendas WHERE id = ?", savedAgenda.getId());
+    }
+
+    @Test
+    @DisplayName("update should replace the cached contact with the updated one")
+    void update_shouldRefreshCachedContact() {
+        // Act
+        contactService.update(savedContact.getId(), new ContactUpdateDTO("Ana Paula", ContactType.MOBILE, "11", "966660000"));
+
+        // Assert
+        assertThat(contactCache.get(savedContact.getId(), Contact.class)).extracting(Contact::getName).isEqualTo("Ana Paula");
+        assertThat(contactService.findById(savedContact.getId()).getName()).isEqualTo("Ana Paula");
+    }
+
+    @Test
+    @DisplayName("delete should evict the cached contact")
+    void delete_shouldEvictCachedContact() {
+        // Act
+        contactService.delete(savedContact.getId());
+
+        // Assert
+        assertThat(contactCache.get(savedContact.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("update rolled back by a failing flush should leave the cached contact untouched")
+    void update_shouldLeaveCachedContactUntouched_whenRolledBack() {
+        // Arrange
+        // Longer than the name column, so the flush fails after the entity was changed
+        var tooLong = new ContactUpdateDTO("A".repeat(300), ContactType.MOBILE, "11", "966660000");
+
+        // Act
+        assertThatThrownBy(() -> contactService.update(savedContact.getId(), tooLong))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // Assert
+        assertThat(contactCache.get(savedContact.getId(), Contact.class)).extracting(Contact::getName).isEqualTo("Ana");
+        assertThat(contactRepository.findById(savedContact.getId())).get().extracting(Contact::getName).isEqualTo("Ana");
+    }
+
+    @Test
+    @DisplayName("GET /contacts/by-phone/{areaCode}/{phoneNumber} should see a contact imported after the number was cached")
+    void getContactsByPhone_shouldNotServeCachedMiss_afterContactsImported() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/contacts/by-phone/{areaCode}/{phoneNumber}", "11", "966660001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // Act
+        mockMvc.perform(post("/agendas/{agendaId}/contacts:bulk", savedAgenda.getId())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "966660001"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1));
+
+        // Assert
+        mockMvc.perform(get("/contacts/by-phone/{areaCode}/{phoneNumber}", "11", "966660001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Ana"));
+    }
+
+    @Test
+    @DisplayName("update and delete should evict the phone the contact had from the phone lookup cache")
+    void updateAndDelete_shouldEvictPreviousPhone() {
+        // Arrange
+        Cache phoneCache = cacheManager.getCache(ContactService.PHONE_CACHE_NAME);
+        assertThat(contactService.findAllByPhone("11", "966660000")).hasSize(1);
+
+        // Act
+        contactService.update(savedContact.getId(), new ContactUpdateDTO("Ana", ContactType.MOBILE, "11", "966660002"));
+
+        // Assert
+        assertThat(phoneCache.get("11:966660000")).isNull();
+        assertThat(contactService.findAllByPhone("11", "966660000")).isEmpty();
+        assertThat(contactService.findAllByPhone("11", "966660002")).hasSize(1);
+
+        // Act
+        contactService.delete(savedContact.getId());
+
+        // Assert
+        assertThat(phoneCache.get("11:966660002")).isNull();
+        assertThat(contactService.findAllByPhone("11", "966660002")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("deleteContactsByNamePrefix should evict the deleted contacts only")
+    void deleteContactsByNamePrefix_shouldEvictDeletedContactsOnly() {
+        // Arrange
+        Contact kept = contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "966660003", savedAgenda));
+        contactService.findById(kept.getId());
+        contactService.findAllByPhone("11", "966660000");
+
+        // Act
+        contactService.deleteContactsByNamePrefix(savedAgenda.getId(), "an");
+
+        // Assert
+        assertThat(contactCache.get(savedContact.getId())).isNull();
+        assertThat(contactCache.get(kept.getId())).isNotNull();
+        assertThat(cacheManager.getCache(ContactService.PHONE_CACHE_NAME).get("11:966660000")).isNull();
+    }
+}
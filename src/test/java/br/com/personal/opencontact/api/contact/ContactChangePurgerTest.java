@@ -0,0 +1,53 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactChangePurgerTest {
+
+    @Mock
+    private ContactChangeRepository contactChangeRepository;
+
+    private ContactChangePurger contactChangePurger;
+
+    @BeforeEach
+    void setUp() {
+        contactChangePurger = new ContactChangePurger(contactChangeRepository,
+                new ContactChangeProperties(100, Duration.ofSeconds(1), Duration.ofMinutes(30),
+                        Duration.ofDays(30), 2, Duration.ofHours(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        contactChangePurger.destroy();
+    }
+
+    @Test
+    @DisplayName("purge should delete batches until one comes back short")
+    void purge_shouldDeleteBatchesUntilShort() {
+        // Arrange
+        when(contactChangeRepository.purgeBefore(any(), eq(2))).thenReturn(2, 2, 1);
+
+        // Act
+        long purged = contactChangePurger.purge();
+
+        // Assert
+        assertThat(purged).isEqualTo(5);
+        verify(contactChangeRepository, times(3)).purgeBefore(any(), eq(2));
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.common.exceptions.ChangeTokenExpiredException;
+import br.com.personal.opencontact.api.contact.ContactChangeRepository.Bounds;
+import br.com.personal.opencontact.api.contact.dto.ContactChangeDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactChangeDTO.Operation;
+import br.com.personal.opencontact.api.contact.dto.ContactChangesResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactChangeServiceTest {
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private ContactChangeRepository contactChangeRepository;
+
+    private ContactChangeService contactChangeService;
+
+    @BeforeEach
+    void setUp() {
+        contactChangeService = new ContactChangeService(
+                agendaRepository,
+                contactChangeRepository,
+                new ContactChangeProperties(100, Duration.ofSeconds(1), Duration.ofMinutes(30),
+                        Duration.ofDays(30), 10000, Duration.ofHours(1))
+        );
+    }
+
+    @Test
+    @DisplayName("findChanges should collapse the changes of a contact into the last one, keeping its creation")
+    void findChanges_shouldCollapseChangesPerContact() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var ana = contact("Ana Maria");
+        var brunoId = UUID.randomUUID();
+
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactChangeRepository.findChanges(agendaId, 10, 11)).thenReturn(List.of(
+                new ContactChangeDTO(11, Operation.CREATED, ana.id(), ana),
+                new ContactChangeDTO(12, Operation.CREATED, brunoId, null),
+                new ContactChangeDTO(13, Operation.UPDATED, ana.id(), ana),
+                new ContactChangeDTO(14, Operation.DELETED, brunoId, null)
+        ));
+        when(contactChangeRepository.findBounds(agendaId)).thenReturn(new Bounds(0, 14));
+
+        // Act
+        ContactChangesResponseDTO response = contactChangeService.findChanges(agendaId, 10, 10);
+
+        // Assert
+        assertThat(response.changes()).containsExactly(
+                new ContactChangeDTO(13, Operation.CREATED, ana.id(), ana),
+                new ContactChangeDTO(14, Operation.DELETED, brunoId, null)
+        );
+        assertThat(response.nextToken()).isEqualTo(14);
+        assertThat(response.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("findChanges should stop at the limit and report more changes when an extra row is found")
+    void findChanges_shouldReportMore_whenMoreRowsThanLimitExist() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var ana = contact("Ana");
+        var bruno = contact("Bruno");
+
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactChangeRepository.findChanges(agendaId, 0, 2)).thenReturn(List.of(
+                new ContactChangeDTO(1, Operation.CREATED, ana.id(), ana),
+                new ContactChangeDTO(2, Operation.CREATED, bruno.id(), bruno)
+        ));
+        when(contactChangeRepository.findBounds(agendaId)).thenReturn(new Bounds(0, 2));
+
+        // Act
+        ContactChangesResponseDTO response = contactChangeService.findChanges(agendaId, 0, 1);
+
+        // Assert
+        assertThat(response.changes()).extracting(ContactChangeDTO::contactId).containsExactly(ana.id());
+        assertThat(response.nextToken()).isEqualTo(1);
+        assertThat(response.hasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("findChanges should keep the token when there are no new changes")
+    void findChanges_shouldKeepToken_whenNoChanges() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactChangeRepository.findChanges(agendaId, 42, 11)).thenReturn(List.of());
+        when(contactChangeRepository.findBounds(agendaId)).thenReturn(new Bounds(30, 42));
+
+        // Act
+        ContactChangesResponseDTO response = contactChangeService.findChanges(agendaId, 42, 10);
+
+        // Assert
+        assertThat(response.changes()).isEmpty();
+        assertThat(response.nextToken()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("findChanges should move a token past the changes of the agenda back to its high-water mark")
+    void findChanges_shouldReturnHighWaterMark_whenTokenPastAgendaChanges() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        // A token taken from another agenda: changes of this agenda committing later could get a seq below it
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactChangeRepository.findChanges(agendaId, 500, 11)).thenReturn(List.of());
+        when(contactChangeRepository.findBounds(agendaId)).thenReturn(new Bounds(0, 42));
+
+        // Act
+        ContactChangesResponseDTO response = contactChangeService.findChanges(agendaId, 500, 10);
+
+        // Assert
+        assertThat(response.nextToken()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("findChanges should accept a token of a quiet agenda whatever was purged from other agendas")
+    void findChanges_shouldAcceptToken_whenOnlyOtherAgendasPurged() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactChangeRepository.findChanges(agendaId, 0, 11)).thenReturn(List.of());
+        when(contactChangeRepository.findBounds(agendaId)).thenReturn(new Bounds(0, 0));
+
+        // Act
+        ContactChangesResponseDTO response = contactChangeService.findChanges(agendaId, 0, 10);
+
+        // Assert
+        assertThat(response.changes()).isEmpty();
+        assertThat(response.nextToken()).isZero();
+    }
+
+    @Test
+    @DisplayName("findChanges should reject a token older than the purged changes of the agenda with its latest token")
+    void findChanges_shouldThrowException_whenTokenExpired() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactChangeRepository.findChanges(agendaId, 5, 11)).thenReturn(List.of());
+        when(contactChangeRepository.findBounds(agendaId)).thenReturn(new Bounds(20, 42));
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactChangeService.findChanges(agendaId, 5, 10))
+                .isInstanceOf(ChangeTokenExpiredException.class)
+                .extracting("latestToken")
+                .isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("findChanges should reject a limit above the maximum page size")
+    void findChanges_shouldThrowException_whenLimitTooLarge() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactChangeService.findChanges(agendaId, 0, 101))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The limit must be between 1 and 100.");
+
+        verify(contactChangeRepository, never()).findChanges(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("findChanges should throw exception when agenda does not exist")
+    void findChanges_shouldThrowException_whenAgendaNotFound() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.existsById(agendaId)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactChangeService.findChanges(agendaId, 0, 10))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Agenda not found with id: " + agendaId);
+    }
+
+    private static ContactResponseDTO contact(String name) {
+        var now = LocalDateTime.now();
+        return new ContactResponseDTO(UUID.randomUUID(), name, ContactType.MOBILE, "11", "911111111", now, now);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.dto.ContactChangesResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactChangeStreamServiceTest {
+
+    @Mock
+    private ContactChangeService contactChangeService;
+
+    private ContactChangeStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        // Polls are triggered by the tests only
+        streamService = new ContactChangeStreamService(contactChangeService,
+                new ContactChangeProperties(100, Duration.ofHours(1), Duration.ofMinutes(30),
+                        Duration.ofDays(30), 10000, Duration.ofHours(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.destroy();
+    }
+
+    @Test
+    @DisplayName("pollAll should read the change log once for the streams of an agenda at the same token")
+    void pollAll_shouldShareOneReadPerAgendaAndToken() throws Exception {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var otherAgendaId = UUID.randomUUID();
+        when(contactChangeService.findChanges(agendaId, 7, 100)).thenReturn(new ContactChangesResponseDTO(List.of(), 7, false));
+        when(contactChangeService.findChanges(otherAgendaId, 7, 100)).thenReturn(new ContactChangesResponseDTO(List.of(), 7, false));
+        streamService.subscribe(agendaId, 7);
+        streamService.subscribe(agendaId, 7);
+        streamService.subscribe(agendaId, 7);
+        streamService.subscribe(otherAgendaId, 7);
+
+        // Act
+        streamService.pollAll();
+
+        // Assert: one read per subscription to catch up, then one per agenda
+        verify(contactChangeService, times(4)).findChanges(agendaId, 7, 100);
+        verify(contactChangeService, times(2)).findChanges(otherAgendaId, 7, 100);
+    }
+}
@@ -3,19 +3,35 @@ package br.com.personal.opencontact.api.contact;
 import br.com.personal.opencontact.api.AbstractIntegrationTest;
 import br.com.personal.opencontact.api.agenda.Agenda;
 import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.common.jdbc.SqlStatementMatchers;
 import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactUpdateDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static br.com.personal.opencontact.api.common.jdbc.SqlStatementMatchers.sqlStatements;
+import static br.com.personal.opencontact.api.common.jdbc.SqlStatementMatchers.sqlStatementsAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +51,12 @@ class ContactControllerIT extends AbstractIntegrationTest {
     @Autowired
     private ContactRepository contactRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContactChangeRepository contactChangeRepository;
+
     private Agenda savedAgenda;
 
     @BeforeEach
@@ -91,4 +113,409 @@ class ContactControllerIT extends AbstractIntegrationTest {
         // Garante que nenhum contato novo foi criado
         assertThat(contactRepository.findAll()).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /agendas/{agendaId}/contacts should return 404 when agenda does not exist")
+    void postContact_whenAgendaDoesNotExist_shouldReturn404NotFound() throws Exception {
+        // Arrange
+        var createDTO = new ContactCreateDTO("Marco", ContactType.MOBILE, "11", "987654321");
+
+        // Act & Assert
+        mockMvc.perform(post("/agendas/{agendaId}/contacts", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts?mode=cursor should walk the agenda with next cursors")
+    void getContacts_whenCursorMode_shouldWalkAgendaWithNextCursors() throws Exception {
+        // Arrange
+        contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "922222222", savedAgenda));
+        contactRepository.save(new Contact("Carla", ContactType.MOBILE, "11", "933333333", savedAgenda));
+
+        // Act & Assert - first slice
+        String firstBody = mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                        .param("mode", "cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Ana"))
+                .andExpect(jsonPath("$.content[1].name").value("Bruno"))
+                .andExpect(jsonPath("$.next").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(firstBody).get("next").asText();
+
+        // Act & Assert - last slice
+        mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                        .param("mode", "cursor")
+                        .param("size", "2")
+                        .param("after", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Carla"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /agendas/{agendaId}/contacts:bulk should import NDJSON rows and report each outcome")
+    void postContactsBulk_whenNdjson_shouldImportAndReportEachRow() throws Exception {
+        // Arrange
+        // Flushed so that the insert statement sees it within the test transaction
+        contactRepository.saveAndFlush(new Contact("Contato Antigo", ContactType.FIXED_LINE, "11", "987654321", savedAgenda));
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111")),
+                objectMapper.writeValueAsString(new ContactCreateDTO("Marco", ContactType.MOBILE, "11", "987654321")),
+                objectMapper.writeValueAsString(new ContactCreateDTO("Sem Telefone", ContactType.MOBILE, "11", "1")));
+
+        // Act & Assert
+        mockMvc.perform(post("/agendas/{agendaId}/contacts:bulk", savedAgenda.getId())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.rows[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.rows[2].status").value("INVALID"));
+
+        assertThat(contactRepository.findAll()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("POST /agendas/{agendaId}/contacts:bulk should update the agenda counter row once per batch")
+    void postContactsBulk_shouldUpdateAgendaRowOncePerBatch() throws Exception {
+        // Arrange
+        agendaRepository.flush();
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111")),
+                objectMapper.writeValueAsString(new ContactCreateDTO("Ana Repetida", ContactType.MOBILE, "11", "911111111")),
+                objectMapper.writeValueAsString(new ContactCreateDTO("Bruno", ContactType.MOBILE, "11", "922222222")));
+        long agendaUpdatesBefore = agendaRowUpdates();
+
+        // Act
+        mockMvc.perform(post("/agendas/{agendaId}/contacts:bulk", savedAgenda.getId())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rows[1].status").value("DUPLICATE"));
+
+        // Assert
+        // Each agenda row update leaves a dead tuple and holds the row lock that serializes the agenda's writers
+        assertThat(agendaRowUpdates() - agendaUpdatesBefore).isEqualTo(1);
+        assertThat(agendaRepository.findContactCountById(savedAgenda.getId())).hasValue(2L);
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts/export?format=csv should stream the filtered contacts as CSV")
+    void exportContacts_whenCsvFormat_shouldStreamFilteredContacts() throws Exception {
+        // Arrange
+        contactRepository.save(new Contact("Ana, a Primeira", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "922222222", savedAgenda));
+
+        // Act
+        String csv = mockMvc.perform(get("/agendas/{agendaId}/contacts/export", savedAgenda.getId())
+                        .param("format", "csv")
+                        .param("nameContains", "ana"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(csv.lines()).hasSize(2);
+        assertThat(csv.lines().findFirst()).hasValue("id,name,type,areaCode,phoneNumber,createdAt,updatedAt");
+        assertThat(csv).contains("\"Ana, a Primeira\",MOBILE,11,911111111");
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts should report totals kept by the agenda contact counter")
+    void getContacts_whenUnfiltered_shouldReportCounterTotals() throws Exception {
+        // Arrange
+        for (var createDTO : new ContactCreateDTO[]{
+                new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111"),
+                new ContactCreateDTO("Anita", ContactType.MOBILE, "11", "922222222"),
+                new ContactCreateDTO("Bruno", ContactType.MOBILE, "11", "933333333")}) {
+            mockMvc.perform(post("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createDTO)))
+                    .andExpect(status().isCreated());
+        }
+        mockMvc.perform(delete("/agendas/{agendaId}/contacts", savedAgenda.getId()).param("namePrefix", "an"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Bruno"));
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts should run the same SQL statements whatever the page size")
+    void getContacts_shouldNotRunStatementsPerContact() throws Exception {
+        // Arrange
+        contactRepository.saveAndFlush(new Contact("Ana", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        int singleContactStatements = SqlStatementMatchers.sqlStatementsOf(
+                mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId()))
+                        .andExpect(status().isOk())
+                        .andExpect(sqlStatementsAtMost(3))
+                        .andReturn());
+
+        List<String> names = List.of("Bruno", "Carla", "Davi", "Elisa");
+        for (int i = 0; i < names.size(); i++) {
+            contactRepository.save(new Contact(names.get(i), ContactType.MOBILE, "11", "92222222" + i, savedAgenda));
+        }
+        contactRepository.flush();
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(5))
+                .andExpect(sqlStatements(singleContactStatements));
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts?mode=slice should report hasNext without totals")
+    void getContacts_whenSliceMode_shouldReportHasNextWithoutTotals() throws Exception {
+        // Arrange
+        contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "922222222", savedAgenda));
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                        .param("mode", "slice")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Ana"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts should return 304 until a contact is removed")
+    void getContacts_whenIfNoneMatchMatches_shouldReturn304UntilContactRemoved() throws Exception {
+        // Arrange
+        Contact ana = contactRepository.saveAndFlush(new Contact("Ana", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        contactRepository.saveAndFlush(new Contact("Bruno", ContactType.MOBILE, "11", "922222222", savedAgenda));
+
+        String eTag = mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(delete("/contacts/{id}", ana.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/agendas/{agendaId}/contacts", savedAgenda.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /contacts:batchGet should return found contacts in request order and the missing ids")
+    void batchGetContacts_shouldReturnFoundContactsAndMissingIds() throws Exception {
+        // Arrange
+        Contact ana = contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        Contact bruno = contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "922222222", savedAgenda));
+        UUID unknownId = UUID.randomUUID();
+
+        // Act & Assert
+        mockMvc.perform(post("/contacts:batchGet")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(bruno.getId(), unknownId, ana.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts[0].name").value("Bruno"))
+                .andExpect(jsonPath("$.contacts[1].name").value("Ana"))
+                .andExpect(jsonPath("$.missing[0]").value(unknownId.toString()));
+    }
+
+    @Test
+    @DisplayName("DELETE /agendas/{agendaId}/contacts should match the prefix literally and report the deleted rows")
+    void deleteContactsByNamePrefix_whenPrefixHasWildcards_shouldMatchLiterally() throws Exception {
+        // Arrange
+        contactRepository.save(new Contact("50% Off", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        contactRepository.save(new Contact("500 Club", ContactType.MOBILE, "11", "922222222", savedAgenda));
+
+        // Act & Assert
+        mockMvc.perform(delete("/agendas/{agendaId}/contacts", savedAgenda.getId()).param("namePrefix", "50%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+
+        assertThat(contactRepository.findAll()).extracting(Contact::getName).containsExactly("500 Club");
+    }
+
+    @Test
+    @DisplayName("GET /contacts/by-phone/{areaCode}/{phoneNumber} should find the phone in every agenda")
+    void getContactsByPhone_shouldFindPhoneAcrossAgendas() throws Exception {
+        // Arrange
+        Agenda otherAgenda = agendaRepository.save(new Agenda("Familia"));
+        contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "977770001", savedAgenda));
+        contactRepository.save(new Contact("Mae", ContactType.MOBILE, "11", "977770001", otherAgenda));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "977770009", savedAgenda));
+
+        // Act & Assert
+        mockMvc.perform(get("/contacts/by-phone/{areaCode}/{phoneNumber}", "11", "977770001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Ana"))
+                .andExpect(jsonPath("$[0].agendaId").value(savedAgenda.getId().toString()))
+                .andExpect(jsonPath("$[1].name").value("Mae"))
+                .andExpect(jsonPath("$[1].agendaId").value(otherAgenda.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("GET /contacts/by-phone/{areaCode}/{phoneNumber} should see a contact created after the number was cached")
+    void getContactsByPhone_shouldNotServeCachedMiss_afterContactCreated() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/contacts/by-phone/{areaCode}/{phoneNumber}", "11", "977770002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // Act
+        mockMvc.perform(post("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "977770002"))))
+                .andExpect(status().isCreated());
+
+        // Assert
+        mockMvc.perform(get("/contacts/by-phone/{areaCode}/{phoneNumber}", "11", "977770002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Ana"));
+    }
+
+    @Test
+    @DisplayName("GET /contacts/search should match names across agendas ignoring accents, best match first")
+    void searchContacts_shouldRankAccentInsensitiveMatches() throws Exception {
+        // Arrange
+        Agenda otherAgenda = agendaRepository.save(new Agenda("Familia"));
+        contactRepository.save(new Contact("Maria João Souza", ContactType.MOBILE, "11", "977770001", savedAgenda));
+        contactRepository.save(new Contact("João", ContactType.MOBILE, "11", "977770002", otherAgenda));
+        contactRepository.save(new Contact("Joana Silva", ContactType.MOBILE, "11", "977770003", savedAgenda));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "977770004", savedAgenda));
+
+        // Act & Assert
+        mockMvc.perform(get("/contacts/search").param("q", "JOAO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("João"))
+                .andExpect(jsonPath("$.content[0].agendaId").value(otherAgenda.getId().toString()))
+                .andExpect(jsonPath("$.content[1].name").value("Maria João Souza"));
+
+        mockMvc.perform(get("/contacts/search").param("q", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/contacts/search").param("q", "!!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts/suggest should suggest contacts by name word prefix, ignoring accents")
+    void suggestContacts_shouldMatchAccentFoldedWordPrefixes() throws Exception {
+        // Arrange
+        contactRepository.save(new Contact("João da Silva", ContactType.MOBILE, "11", "977770001", savedAgenda));
+        contactRepository.save(new Contact("Joana", ContactType.MOBILE, "11", "977770002", savedAgenda));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "11", "977770003", savedAgenda));
+
+        // Act & Assert
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/suggest", savedAgenda.getId()).param("prefix", "jo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Joana"))
+                .andExpect(jsonPath("$[1].name").value("João da Silva"));
+
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/suggest", savedAgenda.getId()).param("prefix", "SILV"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("João da Silva"));
+
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/suggest", UUID.randomUUID()).param("prefix", "jo"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts/changes should report creations, updates and prefix delete tombstones")
+    void getContactChanges_shouldReportChangesSinceToken() throws Exception {
+        // Arrange
+        String anaJson = mockMvc.perform(post("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String anaId = objectMapper.readTree(anaJson).get("id").asText();
+        String brunoJson = mockMvc.perform(post("/agendas/{agendaId}/contacts", savedAgenda.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactCreateDTO("Bruno", ContactType.MOBILE, "11", "922222222"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String brunoId = objectMapper.readTree(brunoJson).get("id").asText();
+
+        mockMvc.perform(put("/contacts/{id}", anaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContactUpdateDTO("Ana Maria", ContactType.MOBILE, "11", "911111111"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/agendas/{agendaId}/contacts", savedAgenda.getId()).param("namePrefix", "Br"))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        String changesJson = mockMvc.perform(get("/agendas/{agendaId}/contacts/changes", savedAgenda.getId()).param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].contactId").value(anaId))
+                .andExpect(jsonPath("$.changes[0].operation").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].contact.name").value("Ana Maria"))
+                .andExpect(jsonPath("$.changes[1].contactId").value(brunoId))
+                .andExpect(jsonPath("$.changes[1].operation").value("DELETED"))
+                .andExpect(jsonPath("$.changes[1].contact").doesNotExist())
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getContentAsString();
+        long nextToken = objectMapper.readTree(changesJson).get("nextToken").asLong();
+
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/changes", savedAgenda.getId()).param("since", String.valueOf(nextToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(0))
+                .andExpect(jsonPath("$.nextToken").value(nextToken));
+    }
+
+    @Test
+    @DisplayName("GET /agendas/{agendaId}/contacts/changes should only expire the tokens of the agenda whose changes were purged")
+    void getContactChanges_shouldExpireTokensPerAgenda() throws Exception {
+        // Arrange
+        // The quiet agenda changes first, so its changes have lower seqs than the purged ones
+        Agenda quietAgenda = agendaRepository.save(new Agenda("Quieta"));
+        contactRepository.saveAndFlush(new Contact("Carla", ContactType.MOBILE, "11", "933333333", quietAgenda));
+        contactRepository.saveAndFlush(new Contact("Ana", ContactType.MOBILE, "11", "911111111", savedAgenda));
+        contactRepository.saveAndFlush(new Contact("Bruno", ContactType.MOBILE, "11", "922222222", savedAgenda));
+        long latestSeq = jdbcTemplate.queryForObject(
+                "SELECT max(seq) FROM contact_changes WHERE agenda_id = ?", Long.class, savedAgenda.getId());
+        jdbcTemplate.update("UPDATE contact_changes SET changed_at = changed_at - INTERVAL '60 days' WHERE seq < ? AND agenda_id = ?",
+                latestSeq, savedAgenda.getId());
+
+        // Act
+        contactChangeRepository.purgeBefore(LocalDateTime.now().minusDays(30), 100);
+
+        // Assert
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/changes", quietAgenda.getId()).param("since", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1));
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/changes", savedAgenda.getId()).param("since", "0"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.latestToken").value(latestSeq));
+        mockMvc.perform(get("/agendas/{agendaId}/contacts/changes", savedAgenda.getId()).param("since", String.valueOf(latestSeq - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.nextToken").value(latestSeq));
+    }
+
+    private long agendaRowUpdates() {
+        return jdbcTemplate.queryForObject("SELECT pg_stat_get_xact_tuples_updated('agendas'::regclass)", Long.class);
+    }
+}
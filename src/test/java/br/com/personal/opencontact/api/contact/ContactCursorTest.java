@@ -0,0 +1,33 @@
+package br.com.personal.opencontact.api.contact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContactCursorTest {
+
+    @Test
+    @DisplayName("decode should restore a cursor produced by encode")
+    void decode_shouldRestoreCursor_whenTokenWasEncoded() {
+        // Arrange
+        var cursor = new ContactCursor("João Dev (Exemplo)", UUID.randomUUID());
+
+        // Act
+        ContactCursor decoded = ContactCursor.decode(cursor.encode());
+
+        // Assert
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("decode should throw exception when token is not a valid cursor")
+    void decode_shouldThrowException_whenTokenIsInvalid() {
+        assertThatThrownBy(() -> ContactCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: not-a-cursor");
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.AbstractIntegrationTest;
+import br.com.personal.opencontact.api.agenda.Agenda;
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.contact.ContactDuplicateScanner.ScanResult;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateGroupDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateReportDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactPhoneMatchDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: the scans read from their own connections, so the contacts must be committed.
+ */
+@AutoConfigureMockMvc
+class ContactDuplicateIT extends AbstractIntegrationTest {
+
+    private static final Duration SCAN_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactJdbcRepository contactJdbcRepository;
+
+    @Autowired
+    private ContactDuplicateScanner contactDuplicateScanner;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Agenda work;
+    private Agenda family;
+
+    @BeforeEach
+    void setUp() {
+        work = agendaRepository.save(new Agenda("Trabalho"));
+        family = agendaRepository.save(new Agenda("Família"));
+
+        // Same key 1187654321 once formatting and the ninth digit are dropped
+        contactRepository.save(new Contact("Ana Paula", ContactType.MOBILE, "11", "98765-4321", work));
+        contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "8765 4321", work));
+        contactRepository.save(new Contact("Roberto", ContactType.MOBILE, "11", "87654321", work));
+        contactRepository.save(new Contact("Bruno", ContactType.MOBILE, "21", "912345678", work));
+        // The same phones in another agenda are not duplicates of the first agenda's contacts
+        contactRepository.save(new Contact("Ana", ContactType.MOBILE, "11", "987654321", family));
+        contactRepository.save(new Contact("Bruno Lima", ContactType.MOBILE, "21", "12345678", family));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contacts WHERE agenda_id IN (?, ?)", work.getId(), family.getId());
+        jdbcTemplate.update("DELETE FROM agendas WHERE id IN (?, ?)", work.getId(), family.getId());
+    }
+
+    @Test
+    @DisplayName("forEachByPhoneKey should split the contacts in disjoint partitions, sorted by normalized phone key")
+    void forEachByPhoneKey_shouldCoverEveryContactOnce() {
+        // Arrange
+        int partitions = 4;
+        List<String> keys = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+
+        // Act
+        for (int partition = 0; partition < partitions; partition++) {
+            List<String> partitionKeys = new ArrayList<>();
+            int current = partition;
+            transactionTemplate.executeWithoutResult(status -> contactJdbcRepository.forEachByPhoneKey(
+                    work.getId(), current, partitions, 2, row -> {
+                        partitionKeys.add(row.phoneKey());
+                        ids.add(row.contact().id());
+                    }));
+            assertThat(partitionKeys).isSorted();
+            keys.addAll(partitionKeys);
+        }
+
+        // Assert
+        assertThat(ids).hasSize(4).doesNotHaveDuplicates();
+        assertThat(keys).containsExactlyInAnyOrder("1187654321", "1187654321", "1187654321", "2112345678");
+    }
+
+    @Test
+    @DisplayName("scan of every agenda should group duplicates within each agenda only")
+    void scan_whenEveryAgenda_shouldGroupPerAgenda() {
+        // Act
+        ScanResult result = contactDuplicateScanner.scan(null);
+
+        // Assert
+        assertThat(result.scannedContacts()).containsEntry(work.getId(), 4L).containsEntry(family.getId(), 2L);
+        assertThat(result.groups().get(work.getId()))
+                .singleElement()
+                .satisfies(group -> {
+                    assertThat(group.phoneKey()).isEqualTo("1187654321");
+                    assertThat(group.contacts()).extracting(ContactPhoneMatchDTO::name)
+                            .containsExactlyInAnyOrder("Ana Paula", "Ana");
+                });
+        assertThat(result.groups()).doesNotContainKey(family.getId());
+    }
+
+    @Test
+    @DisplayName("POST /agendas/{agendaId}/duplicates should return 202 RUNNING, then GET should return 200 with the groups")
+    void postDuplicates_shouldRunInBackground_andReportGroups() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/agendas/{agendaId}/duplicates", work.getId()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/agendas/" + work.getId() + "/duplicates"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+
+        ContactDuplicateReportDTO report = awaitReport(work.getId());
+        assertThat(report.status()).isEqualTo(ContactDuplicateReportDTO.Status.COMPLETED);
+        assertThat(report.scannedContacts()).isEqualTo(4);
+        assertThat(report.groups()).extracting(ContactDuplicateGroupDTO::phoneKey).containsExactly("1187654321");
+    }
+
+    @Test
+    @DisplayName("POST /duplicates should return 202 and complete the report of every agenda")
+    void postDuplicatesOfAllAgendas_shouldReportEveryAgenda() throws Exception {
+        // Act
+        mockMvc.perform(post("/duplicates"))
+                .andExpect(status().isAccepted());
+
+        // Assert
+        assertThat(awaitReport(work.getId()).groups()).hasSize(1);
+        ContactDuplicateReportDTO familyReport = awaitReport(family.getId());
+        assertThat(familyReport.scannedContacts()).isEqualTo(2);
+        assertThat(familyReport.groups()).isEmpty();
+    }
+
+    /**
+     * Polls the report of an agenda until its scan is no longer running.
+     */
+    private ContactDuplicateReportDTO awaitReport(UUID agendaId) throws Exception {
+        long deadline = System.nanoTime() + SCAN_TIMEOUT.toNanos();
+        while (true) {
+            MvcResult result = mockMvc.perform(get("/agendas/{agendaId}/duplicates", agendaId)).andReturn();
+            if (result.getResponse().getStatus() == 200) {
+                return objectMapper.readValue(result.getResponse().getContentAsString(), ContactDuplicateReportDTO.class);
+            }
+            assertThat(System.nanoTime()).as("scan of agenda %s still running", agendaId).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
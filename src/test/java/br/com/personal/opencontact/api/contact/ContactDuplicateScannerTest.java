@@ -0,0 +1,125 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.ContactDuplicateScanner.NameFeatures;
+import br.com.personal.opencontact.api.contact.ContactDuplicateScanner.ScanResult;
+import br.com.personal.opencontact.api.contact.ContactJdbcRepository.PhoneKeyedContact;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateGroupDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactPhoneMatchDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ContactDuplicateScannerTest {
+
+    @Mock
+    private ContactJdbcRepository contactJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContactDuplicateScanner contactDuplicateScanner;
+
+    @BeforeEach
+    void setUp() {
+        contactDuplicateScanner = new ContactDuplicateScanner(contactJdbcRepository, transactionManager,
+                new ContactDuplicateProperties(2, 100, 0.5, 3, Duration.ofHours(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        contactDuplicateScanner.destroy();
+    }
+
+    @Test
+    @DisplayName("scan should group contacts sharing a phone key and a similar name, across every partition")
+    void scan_shouldGroupSimilarNamesSharingPhoneKey() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var joao = contact(agendaId, "João da Silva", "987654321");
+        var joaoSemNove = contact(agendaId, "Joao Silva", "87654321");
+        var maria = contact(agendaId, "Maria", "87654321");
+        var ana = contact(agendaId, "Ana", "911112222");
+        var anaPaula = contact(agendaId, "Ana Paula", "911112222");
+        givenPartition(agendaId, 0, row("1187654321", joao), row("1187654321", joaoSemNove), row("1187654321", maria));
+        givenPartition(agendaId, 1, row("1111112222", ana), row("1111112222", anaPaula));
+
+        // Act
+        ScanResult result = contactDuplicateScanner.scan(agendaId);
+
+        // Assert
+        assertThat(result.scannedContacts()).containsEntry(agendaId, 5L);
+        assertThat(result.groups().get(agendaId)).containsExactlyInAnyOrder(
+                new ContactDuplicateGroupDTO("1187654321", List.of(joao, joaoSemNove)),
+                new ContactDuplicateGroupDTO("1111112222", List.of(ana, anaPaula)));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("scan should skip phone keys shared by more contacts than the configured maximum")
+    void scan_shouldSkipOversizedPhoneKeys() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        givenPartition(agendaId, 0,
+                row("1100000000", contact(agendaId, "Ana", "00000000")),
+                row("1100000000", contact(agendaId, "Ana", "00000000")),
+                row("1100000000", contact(agendaId, "Ana", "00000000")),
+                row("1100000000", contact(agendaId, "Ana", "00000000")));
+        givenPartition(agendaId, 1);
+
+        // Act
+        ScanResult result = contactDuplicateScanner.scan(agendaId);
+
+        // Assert
+        assertThat(result.scannedContacts()).containsEntry(agendaId, 4L);
+        assertThat(result.groups()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("similarNames should ignore accents and case, and accept names whose words contain the other's")
+    void similarNames_shouldMatchVariantsOfTheSameName() {
+        assertThat(similar("JOSÉ  Santos", "jose santos")).isTrue();
+        assertThat(similar("Ana", "Ana Paula")).isTrue();
+        assertThat(similar("Jonathan Souza", "Jonatan Souza")).isTrue();
+        assertThat(similar("Maria", "Mário Quintana")).isFalse();
+    }
+
+    private boolean similar(String a, String b) {
+        return ContactDuplicateScanner.similarNames(NameFeatures.of(a), NameFeatures.of(b), 0.5);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenPartition(UUID agendaId, int partition, PhoneKeyedContact... rows) {
+        doAnswer(invocation -> {
+            Consumer<PhoneKeyedContact> action = invocation.getArgument(4);
+            List.of(rows).forEach(action);
+            return null;
+        }).when(contactJdbcRepository).forEachByPhoneKey(eq(agendaId), eq(partition), eq(2), anyInt(), any(Consumer.class));
+    }
+
+    private static PhoneKeyedContact row(String phoneKey, ContactPhoneMatchDTO contact) {
+        return new PhoneKeyedContact(phoneKey, contact);
+    }
+
+    private static ContactPhoneMatchDTO contact(UUID agendaId, String name, String phoneNumber) {
+        return new ContactPhoneMatchDTO(UUID.randomUUID(), agendaId, name, ContactType.MOBILE, "11", phoneNumber);
+    }
+}
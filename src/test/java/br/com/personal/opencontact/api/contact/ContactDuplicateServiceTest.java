@@ -0,0 +1,93 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaService;
+import br.com.personal.opencontact.api.contact.ContactDuplicateScanner.ScanResult;
+import br.com.personal.opencontact.api.contact.dto.ContactDuplicateReportDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactDuplicateServiceTest {
+
+    @Mock
+    private AgendaService agendaService;
+
+    @Mock
+    private ContactDuplicateScanner contactDuplicateScanner;
+
+    @Mock
+    private AsyncTaskExecutor taskExecutor;
+
+    private ContactDuplicateService contactDuplicateService;
+
+    @BeforeEach
+    void setUp() {
+        contactDuplicateService = new ContactDuplicateService(agendaService, contactDuplicateScanner, taskExecutor,
+                new ContactDuplicateProperties(2, 100, 0.5, 1000, Duration.ofHours(1)));
+    }
+
+    @Test
+    @DisplayName("submitAll should replace the kept reports by failed ones and allow a new scan when the scan fails")
+    void submitAll_shouldRecordFailure_whenScanFails() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        when(contactDuplicateScanner.scan(agendaId)).thenReturn(scanned(agendaId));
+        contactDuplicateService.submit(agendaId);
+        when(contactDuplicateScanner.scan(isNull())).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act
+        contactDuplicateService.submitAll();
+        contactDuplicateService.submitAll();
+
+        // Assert
+        ContactDuplicateReportDTO report = contactDuplicateService.findByAgendaId(agendaId);
+        assertThat(report.status()).isEqualTo(ContactDuplicateReportDTO.Status.FAILED);
+        assertThat(report.error()).isEqualTo("connection lost");
+        verify(contactDuplicateScanner, times(2)).scan(null);
+    }
+
+    @Test
+    @DisplayName("submitAll should allow a new scan when the executor rejects the task")
+    void submitAll_shouldResetFlag_whenTaskRejected() {
+        // Arrange
+        doThrow(new TaskRejectedException("queue full"))
+                .doNothing()
+                .when(taskExecutor).execute(any(Runnable.class));
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactDuplicateService.submitAll()).isInstanceOf(TaskRejectedException.class);
+        contactDuplicateService.submitAll();
+
+        verify(taskExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    private static ScanResult scanned(UUID agendaId) {
+        Map<UUID, Long> scannedContacts = new HashMap<>(Map.of(agendaId, 3L));
+        return new ScanResult(scannedContacts, new HashMap<>());
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.contact.dto.ContactBulkResponseDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactBulkRowResultDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContactImportServiceTest {
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private ContactJdbcRepository contactJdbcRepository;
+
+    @Mock
+    private ContactSuggestionIndex contactSuggestionIndex;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(ContactService.PHONE_CACHE_NAME);
+
+    private ContactImportService contactImportService;
+
+    @BeforeEach
+    void setUp() {
+        contactImportService = new ContactImportService(
+                agendaRepository,
+                contactJdbcRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ContactBulkProperties(3, 2, 1000, 1000),
+                contactSuggestionIndex,
+                new ContactCacheEvictor(cacheManager)
+        );
+    }
+
+    @Test
+    @DisplayName("importContacts should report created, duplicate and invalid rows in request order")
+    void importContacts_shouldReportEveryRowOutcome() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var rows = List.of(
+                new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111"),
+                new ContactCreateDTO("Bruno", ContactType.MOBILE, "1", "922222222"),
+                new ContactCreateDTO("Carla", ContactType.MOBILE, "11", "933333333")
+        );
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactJdbcRepository.insertIgnoringDuplicatePhones(eq(agendaId), anyList())).thenReturn(new int[]{1, 0});
+
+        // Act
+        ContactBulkResponseDTO response = contactImportService.importContacts(agendaId, rows.iterator());
+
+        // Assert
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.duplicates()).isEqualTo(1);
+        assertThat(response.invalid()).isEqualTo(1);
+        assertThat(response.rows()).extracting(ContactBulkRowResultDTO::status).containsExactly(
+                ContactBulkRowResultDTO.Status.CREATED,
+                ContactBulkRowResultDTO.Status.INVALID,
+                ContactBulkRowResultDTO.Status.DUPLICATE
+        );
+        assertThat(response.rows().get(0).id()).isNotNull();
+        assertThat(response.rows().get(1).errors()).containsKey("areaCode");
+        verify(contactJdbcRepository, times(1)).insertIgnoringDuplicatePhones(eq(agendaId), anyList());
+        verify(contactSuggestionIndex, times(1)).put(agendaId, response.rows().get(0).id(), "Ana");
+    }
+
+    @Test
+    @DisplayName("importContacts should evict the cached phone lookups of the created contacts only")
+    void importContacts_shouldEvictPhonesOfCreatedContacts() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var rows = List.of(
+                new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111"),
+                new ContactCreateDTO("Bruno", ContactType.MOBILE, "11", "922222222")
+        );
+        Cache phoneCache = cacheManager.getCache(ContactService.PHONE_CACHE_NAME);
+        phoneCache.put("11:911111111", List.of());
+        phoneCache.put("11:922222222", List.of());
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactJdbcRepository.insertIgnoringDuplicatePhones(eq(agendaId), anyList())).thenReturn(new int[]{1, 0});
+
+        // Act
+        contactImportService.importContacts(agendaId, rows.iterator());
+
+        // Assert
+        assertThat(phoneCache.get("11:911111111")).isNull();
+        assertThat(phoneCache.get("11:922222222")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("importContacts should throw exception when rows exceed the configured limit")
+    void importContacts_shouldThrowException_whenRowsExceedLimit() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var row = new ContactCreateDTO("Ana", ContactType.MOBILE, "11", "911111111");
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactJdbcRepository.insertIgnoringDuplicatePhones(eq(agendaId), anyList())).thenReturn(new int[]{1, 1});
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactImportService.importContacts(agendaId, List.of(row, row, row, row).iterator()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bulk import is limited to 3 contacts per request.");
+    }
+
+    @Test
+    @DisplayName("importContacts should throw exception when agenda does not exist")
+    void importContacts_shouldThrowException_whenAgendaNotFound() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.existsById(agendaId)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactImportService.importContacts(agendaId, List.<ContactCreateDTO>of().iterator()))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Agenda not found with id: " + agendaId);
+
+        verify(contactJdbcRepository, never()).insertIgnoringDuplicatePhones(any(), anyList());
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.AbstractIntegrationTest;
+import br.com.personal.opencontact.api.agenda.Agenda;
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=br.com.personal.opencontact.api.contact.ContactNameSearchIT$LastStatementInspector"
+})
+class ContactNameSearchIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Agenda savedAgenda;
+
+    @BeforeEach
+    void setUp() {
+        savedAgenda = agendaRepository.saveAndFlush(new Agenda("Busca"));
+
+        // Enough rows for the planner to prefer an index over scanning the agenda
+        jdbcTemplate.update("""
+                INSERT INTO contacts (id, agenda_id, name, type, area_code, phone_number, created_at, updated_at)
+                SELECT gen_random_uuid(), ?, 'Contato ' || i, 'MOBILE', '11', '9' || lpad(i::text, 8, '0'),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                FROM generate_series(1, 5000) AS i
+                """, savedAgenda.getId());
+        contactRepository.saveAndFlush(new Contact("Marco Arquiteto", ContactType.MOBILE, "21", "987654321", savedAgenda));
+        jdbcTemplate.execute("ANALYZE contacts");
+    }
+
+    @Test
+    @DisplayName("filterBy with nameContains should emit SQL served by the trigram index")
+    void filterBy_whenNameContains_shouldUseTrigramIndex() {
+        // Arrange
+        var spec = ContactSpecification.filterBy(savedAgenda.getId(), "ARQUIT", null);
+
+        // Act
+        List<Contact> contacts = contactRepository.findAll(spec);
+        String sql = LastStatementInspector.lastSql;
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, savedAgenda.getId(), "%arquit%");
+
+        // Assert
+        assertThat(contacts).extracting(Contact::getName).containsExactly("Marco Arquiteto");
+        assertThat(String.join("\n", plan)).contains("idx_contact_name_trgm");
+    }
+
+    @Test
+    @DisplayName("filterBy with nameContains should match LIKE wildcards literally")
+    void filterBy_whenNameContainsWildcards_shouldMatchThemLiterally() {
+        // Arrange
+        contactRepository.saveAndFlush(new Contact("100% Confiável", ContactType.FIXED_LINE, "21", "23456789", savedAgenda));
+
+        // Act
+        List<Contact> contacts = contactRepository.findAll(ContactSpecification.filterBy(savedAgenda.getId(), "0%", null));
+
+        // Assert
+        assertThat(contacts).extracting(Contact::getName).containsExactly("100% Confiável");
+    }
+
+    public static class LastStatementInspector implements StatementInspector {
+
+        static volatile String lastSql;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select")) {
+                lastSql = sql;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.contact.ContactJdbcRepository.DeletedContact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactPrefixDeleterTest {
+
+    @Mock
+    private ContactJdbcRepository contactJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ContactSuggestionIndex contactSuggestionIndex;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(
+            ContactService.CACHE_NAME, ContactService.PHONE_CACHE_NAME);
+
+    private ContactPrefixDeleter contactPrefixDeleter;
+
+    @BeforeEach
+    void setUp() {
+        contactPrefixDeleter = new ContactPrefixDeleter(
+                contactJdbcRepository,
+                new TransactionTemplate(transactionManager),
+                new ContactBulkProperties(10000, 500, 1000, 2),
+                contactSuggestionIndex,
+                new ContactCacheEvictor(cacheManager)
+        );
+    }
+
+    @Test
+    @DisplayName("deleteByNamePrefix should delete in chunks, each committed in its own transaction, until a partial chunk")
+    void deleteByNamePrefix_shouldDeleteInChunksUntilPartialChunk() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(contactJdbcRepository.deleteChunkByAgendaIdAndNameLike(agendaId, "an\\_%", 2))
+                .thenReturn(deleted(2), deleted(2), deleted(1));
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        long deleted = contactPrefixDeleter.deleteByNamePrefix(agendaId, "an_", progress::add);
+
+        // Assert
+        assertThat(deleted).isEqualTo(5);
+        assertThat(progress).containsExactly(2L, 4L, 5L);
+        verify(transactionManager, times(3)).commit(any());
+        verify(contactSuggestionIndex).removeByNamePrefix(agendaId, "an_");
+    }
+
+    @Test
+    @DisplayName("deleteByNamePrefix should evict only the deleted contacts and their phones from the caches")
+    void deleteByNamePrefix_shouldEvictOnlyDeletedContacts() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var deletedContact = new DeletedContact(UUID.randomUUID(), "11", "911111111");
+        var keptId = UUID.randomUUID();
+        Cache contactCache = cacheManager.getCache(ContactService.CACHE_NAME);
+        Cache phoneCache = cacheManager.getCache(ContactService.PHONE_CACHE_NAME);
+        contactCache.put(deletedContact.id(), "Ana");
+        contactCache.put(keptId, "Bruno");
+        phoneCache.put("11:911111111", List.of());
+        phoneCache.put("11:922222222", List.of());
+        when(contactJdbcRepository.deleteChunkByAgendaIdAndNameLike(agendaId, "an%", 2)).thenReturn(List.of(deletedContact));
+
+        // Act
+        contactPrefixDeleter.deleteByNamePrefix(agendaId, "an", deleted -> {});
+
+        // Assert
+        assertThat(contactCache.get(deletedContact.id())).isNull();
+        assertThat(contactCache.get(keptId)).isNotNull();
+        assertThat(phoneCache.get("11:911111111")).isNull();
+        assertThat(phoneCache.get("11:922222222")).isNotNull();
+    }
+
+    private static List<DeletedContact> deleted(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new DeletedContact(UUID.randomUUID(), "11", "91111111" + i))
+                .toList();
+    }
+}
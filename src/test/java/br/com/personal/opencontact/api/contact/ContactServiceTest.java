@@ -2,23 +2,43 @@ package br.com.personal.opencontact.api.contact;
 
 import br.com.personal.opencontact.api.agenda.Agenda;
 import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.agenda.AgendaService;
 import br.com.personal.opencontact.api.common.exceptions.PhoneAlreadyExistsException;
+import br.com.personal.opencontact.api.common.http.ResourceVersion;
 import br.com.personal.opencontact.api.contact.dto.ContactCreateDTO;
+import br.com.personal.opencontact.api.contact.dto.ContactResponseDTO;
 import br.com.personal.opencontact.api.contact.dto.ContactUpdateDTO;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,40 +50,56 @@ class ContactServiceTest {
     @Mock
     private AgendaRepository agendaRepository;
 
+    @Mock
+    private ContactJdbcRepository contactJdbcRepository;
+
+    @Mock
+    private AgendaService agendaService;
+
+    @Mock
+    private ContactPrefixDeleter contactPrefixDeleter;
+
+    @Mock
+    private ContactSuggestionIndex contactSuggestionIndex;
+
+    @Mock
+    private ContactCacheEvictor contactCacheEvictor;
+
+    @Spy
+    private ContactSuggestProperties suggestProperties = new ContactSuggestProperties(50, 1000, Duration.ofMinutes(10));
+
+    @Spy
+    private ContactBulkProperties bulkProperties = new ContactBulkProperties(10000, 500, 3, 1000);
+
     @InjectMocks
     private ContactService contactService;
 
     @Test
-    @DisplayName("create should save contact when phone is unique and agenda exists")
+    @DisplayName("create should insert contact in a single statement when phone is unique and agenda exists")
     void create_shouldSaveContact_whenSuccessful() {
         // Arrange
         var agendaId = UUID.randomUUID();
         var createDTO = new ContactCreateDTO("John Doe", ContactType.MOBILE, "11", "987654321");
         var agenda = new Agenda("Familia");
         agenda.setId(agendaId);
-        var generatedId = UUID.randomUUID();
 
-        when(contactRepository.existsByAgendaIdAndAreaCodeAndPhoneNumber(agendaId, "11", "987654321")).thenReturn(false);
-        when(agendaRepository.findById(agendaId)).thenReturn(Optional.of(agenda));
-        when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> {
-            Contact contact = invocation.getArgument(0);
-            contact.setId(generatedId);
-            return contact;
-        });
+        when(agendaRepository.getReferenceById(agendaId)).thenReturn(agenda);
+        when(contactJdbcRepository.insertIgnoringDuplicatePhone(eq(agendaId), any(Contact.class))).thenReturn(true);
 
         // Act
         Contact savedContact = contactService.create(agendaId, createDTO);
 
         // Assert
         assertThat(savedContact).isNotNull();
-        assertThat(savedContact.getId()).isEqualTo(generatedId);
+        assertThat(savedContact.getId()).isNotNull();
+        assertThat(savedContact.getCreatedAt()).isNotNull();
         assertThat(savedContact.getName()).isEqualTo("John Doe");
         assertThat(savedContact.getAreaCode()).isEqualTo("11");
         assertThat(savedContact.getPhoneNumber()).isEqualTo("987654321");
         assertThat(savedContact.getAgenda().getId()).isEqualTo(agendaId);
-        verify(contactRepository).existsByAgendaIdAndAreaCodeAndPhoneNumber(agendaId, "11", "987654321");
-        verify(agendaRepository).findById(agendaId);
-        verify(contactRepository).save(any(Contact.class));
+        verify(contactJdbcRepository).insertIgnoringDuplicatePhone(agendaId, savedContact);
+        verify(contactRepository, never()).existsByAgendaIdAndAreaCodeAndPhoneNumber(any(), any(), any());
+        verify(agendaRepository, never()).findById(any());
     }
 
     @Test
@@ -72,15 +108,12 @@ class ContactServiceTest {
         // Arrange
         var agendaId = UUID.randomUUID();
         var createDTO = new ContactCreateDTO("John Doe", ContactType.MOBILE, "11", "987654321");
-        when(contactRepository.existsByAgendaIdAndAreaCodeAndPhoneNumber(agendaId, "11", "987654321")).thenReturn(true);
+        when(contactJdbcRepository.insertIgnoringDuplicatePhone(eq(agendaId), any(Contact.class))).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> contactService.create(agendaId, createDTO))
                 .isInstanceOf(PhoneAlreadyExistsException.class)
                 .hasMessage("Phone number already registered in this agenda.");
-
-        verify(agendaRepository, never()).findById(any());
-        verify(contactRepository, never()).save(any());
     }
 
     @Test
@@ -89,15 +122,14 @@ class ContactServiceTest {
         // Arrange
         var agendaId = UUID.randomUUID();
         var createDTO = new ContactCreateDTO("John Doe", ContactType.MOBILE, "11", "987654321");
-        when(contactRepository.existsByAgendaIdAndAreaCodeAndPhoneNumber(agendaId, "11", "987654321")).thenReturn(false);
-        when(agendaRepository.findById(agendaId)).thenReturn(Optional.empty());
+        var foreignKeyViolation = new DataIntegrityViolationException("fk_contact_agenda",
+                new SQLException("violates foreign key constraint \"fk_contact_agenda\"", "23503"));
+        when(contactJdbcRepository.insertIgnoringDuplicatePhone(eq(agendaId), any(Contact.class))).thenThrow(foreignKeyViolation);
 
         // Act & Assert
         assertThatThrownBy(() -> contactService.create(agendaId, createDTO))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Agenda not found with id: " + agendaId);
-
-        verify(contactRepository, never()).save(any());
     }
 
     @Test
@@ -115,7 +147,7 @@ class ContactServiceTest {
 
         when(contactRepository.findById(contactId)).thenReturn(Optional.of(originalContact));
         when(contactRepository.findByAgendaIdAndAreaCodeAndPhoneNumber(agendaId, "21", "23456789")).thenReturn(Optional.empty());
-        when(contactRepository.save(any(Contact.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contactRepository.saveAndFlush(any(Contact.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Contact updatedContact = contactService.update(contactId, updateDTO);
@@ -128,7 +160,8 @@ class ContactServiceTest {
         assertThat(updatedContact.getPhoneNumber()).isEqualTo("23456789");
         verify(contactRepository).findById(contactId);
         verify(contactRepository).findByAgendaIdAndAreaCodeAndPhoneNumber(agendaId, "21", "23456789");
-        verify(contactRepository).save(originalContact);
+        verify(contactRepository).saveAndFlush(originalContact);
+        verify(contactCacheEvictor).evictPhoneAfterCommit("11", "12345678");
     }
 
     @Test
@@ -156,7 +189,8 @@ class ContactServiceTest {
                 .isInstanceOf(PhoneAlreadyExistsException.class)
                 .hasMessage("Phone number already registered to another contact in this agenda.");
 
-        verify(contactRepository, never()).save(any());
+        verify(contactRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(contactCacheEvictor);
     }
 
     @Test
@@ -180,19 +214,23 @@ class ContactServiceTest {
     }
 
     @Test
-    @DisplayName("delete should remove contact when id exists")
+    @DisplayName("delete should remove contact when id exists and evict its phone")
     void delete_shouldRemoveContact_whenIdExists() {
         // Arrange
         var contactId = UUID.randomUUID();
-        when(contactRepository.existsById(contactId)).thenReturn(true);
-        doNothing().when(contactRepository).deleteById(contactId);
+        var agenda = new Agenda("Trabalho");
+        agenda.setId(UUID.randomUUID());
+        var contact = new Contact("Jane Doe", ContactType.MOBILE, "11", "12345678", agenda);
+        contact.setId(contactId);
+        when(contactRepository.findById(contactId)).thenReturn(Optional.of(contact));
 
         // Act
         contactService.delete(contactId);
 
         // Assert
-        verify(contactRepository).existsById(contactId);
-        verify(contactRepository).deleteById(contactId);
+        verify(contactRepository).delete(contact);
+        verify(contactSuggestionIndex).remove(agenda.getId(), contactId);
+        verify(contactCacheEvictor).evictPhoneAfterCommit("11", "12345678");
     }
 
     @Test
@@ -200,13 +238,353 @@ class ContactServiceTest {
     void delete_shouldThrowException_whenIdDoesNotExist() {
         // Arrange
         var contactId = UUID.randomUUID();
-        when(contactRepository.existsById(contactId)).thenReturn(false);
+        when(contactRepository.findById(contactId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> contactService.delete(contactId))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessage("Contact not found with id: " + contactId);
 
-        verify(contactRepository, never()).deleteById(any(UUID.class));
+        verify(contactRepository, never()).delete(any(Contact.class));
+    }
+
+    @Test
+    @DisplayName("findAllByCriteriaAfter should report a next slice when more rows than the size are found")
+    void findAllByCriteriaAfter_shouldReportNextSlice_whenMoreRowsExist() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var first = response("Ana", "911111111");
+        var second = response("Bruno", "922222222");
+        var extra = response("Carla", "933333333");
+
+        when(contactRepository.findResponses(ArgumentMatchers.<Specification<Contact>>any(), eq(ContactCursor.SORT), eq(0L), eq(3)))
+                .thenReturn(List.of(first, second, extra));
+
+        // Act
+        Slice<ContactResponseDTO> slice = contactService.findAllByCriteriaAfter(agendaId, null, null, null, 2, version -> false)
+                .orElseThrow();
+
+        // Assert
+        assertThat(slice.getContent()).containsExactly(first, second);
+        assertThat(slice.hasNext()).isTrue();
+        verify(contactRepository, never()).count(ArgumentMatchers.<Specification<Contact>>any());
+        verify(contactRepository, never()).findVersion(any());
+        verifyNoInteractions(agendaRepository);
+    }
+
+    @Test
+    @DisplayName("findAllByCriteriaAfter should report the last slice when no extra row is found")
+    void findAllByCriteriaAfter_shouldReportLastSlice_whenNoMoreRowsExist() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var cursor = new ContactCursor("Bruno", UUID.randomUUID());
+        var last = response("Carla", "933333333");
+
+        when(contactRepository.findResponses(ArgumentMatchers.<Specification<Contact>>any(), eq(ContactCursor.SORT), eq(0L), eq(3)))
+                .thenReturn(List.of(last));
+
+        // Act
+        Slice<ContactResponseDTO> slice = contactService.findAllByCriteriaAfter(agendaId, null, null, cursor, 2, version -> false)
+                .orElseThrow();
+
+        // Assert
+        assertThat(slice.getContent()).containsExactly(last);
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("findAllByCriteriaAfter should throw EntityNotFoundException when no row is found and the agenda does not exist")
+    void findAllByCriteriaAfter_shouldThrowException_whenAgendaNotFound() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+
+        when(contactRepository.findResponses(ArgumentMatchers.<Specification<Contact>>any(), eq(ContactCursor.SORT), eq(0L), eq(3)))
+                .thenReturn(List.of());
+        when(agendaRepository.existsById(agendaId)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.findAllByCriteriaAfter(agendaId, null, null, null, 2, version -> false))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Agenda not found with id: " + agendaId);
+    }
+
+    @Test
+    @DisplayName("findSliceByCriteria should return nothing when the version of the fetched rows is not modified")
+    void findSliceByCriteria_shouldReturnEmpty_whenRowsNotModified() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var first = response("Ana", "911111111");
+        var extra = response("Bruno", "922222222");
+        var expected = ResourceVersion.ofSlice(new SliceImpl<>(List.of(first), PageRequest.of(0, 1), true),
+                ContactResponseDTO::id, ContactResponseDTO::updatedAt);
+
+        when(contactRepository.findResponses(ArgumentMatchers.<Specification<Contact>>any(), any(Sort.class), eq(0L), eq(2)))
+                .thenReturn(List.of(first, extra));
+
+        // Act
+        var slice = contactService.findSliceByCriteria(agendaId, null, null, PageRequest.of(0, 1), expected::equals);
+
+        // Assert
+        assertThat(slice).isEmpty();
+        verify(contactRepository, never()).findVersion(any());
+    }
+
+    @Test
+    @DisplayName("exportContacts should hand every streamed contact to the consumer")
+    void exportContacts_shouldHandEveryContactToConsumer() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var first = new Contact("Ana", ContactType.MOBILE, "11", "911111111", null);
+        var second = new Contact("Bruno", ContactType.MOBILE, "11", "922222222", null);
+        List<Contact> exported = new ArrayList<>();
+
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactRepository.streamAll(ArgumentMatchers.<Specification<Contact>>any(), any(Sort.class), anyInt()))
+                .thenReturn(Stream.of(first, second));
+
+        // Act
+        contactService.exportContacts(agendaId, null, null, exported::add);
+
+        // Assert
+        assertThat(exported).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("exportContacts should throw exception when agenda does not exist")
+    void exportContacts_shouldThrowException_whenAgendaNotFound() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.existsById(agendaId)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.exportContacts(agendaId, null, null, contact -> { }))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Agenda not found with id: " + agendaId);
+
+        verify(contactRepository, never()).streamAll(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("findAllByCriteria should take the total from the agenda counter when unfiltered")
+    void findAllByCriteria_shouldUseAgendaCounter_whenUnfiltered() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var pageable = PageRequest.of(0, 2);
+        var contact = response("Ana", "911111111");
+
+        when(agendaRepository.findContactCountById(agendaId)).thenReturn(Optional.of(42L));
+        when(contactRepository.findResponses(ArgumentMatchers.<Specification<Contact>>any(), eq(pageable.getSort()), eq(0L), eq(2)))
+                .thenReturn(List.of(contact));
+
+        // Act
+        Page<ContactResponseDTO> page = contactService.findAllByCriteria(agendaId, null, " ", pageable, version -> false)
+                .orElseThrow();
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(42);
+        assertThat(page.getContent()).containsExactly(contact);
+        verify(agendaRepository, times(1)).findContactCountById(agendaId);
+        verify(contactRepository, never()).count(ArgumentMatchers.<Specification<Contact>>any());
+    }
+
+    @Test
+    @DisplayName("findAllByCriteria should take the total from the version of the matches when filtered")
+    void findAllByCriteria_shouldUseVersionCount_whenFiltered() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var pageable = PageRequest.of(1, 2);
+        var contact = response("Ana", "911111111");
+
+        when(agendaRepository.findContactCountById(agendaId)).thenReturn(Optional.of(42L));
+        when(contactRepository.findVersion(ArgumentMatchers.<Specification<Contact>>any()))
+                .thenReturn(new ResourceVersion(LocalDateTime.of(2024, 5, 1, 10, 30), 5));
+        when(contactRepository.findResponses(ArgumentMatchers.<Specification<Contact>>any(), eq(pageable.getSort()), eq(2L), eq(2)))
+                .thenReturn(List.of(contact, contact));
+
+        // Act
+        Page<ContactResponseDTO> page = contactService.findAllByCriteria(agendaId, "ana", null, pageable, version -> false)
+                .orElseThrow();
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).hasSize(2);
+        verify(contactRepository, never()).count(ArgumentMatchers.<Specification<Contact>>any());
+    }
+
+    @Test
+    @DisplayName("findAllByCriteria should load no contacts when the version is not modified")
+    void findAllByCriteria_shouldReturnEmpty_whenNotModified() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var updatedAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        when(agendaRepository.findContactCountById(agendaId)).thenReturn(Optional.of(42L));
+        when(contactRepository.findMaxUpdatedAtByAgendaId(agendaId)).thenReturn(Optional.of(updatedAt));
+
+        // Act
+        Optional<Page<ContactResponseDTO>> page = contactService.findAllByCriteria(agendaId, null, null,
+                PageRequest.of(0, 10), version -> version.equals(new ResourceVersion(updatedAt, 42)));
+
+        // Assert
+        assertThat(page).isEmpty();
+        verify(contactRepository, never()).findResponses(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("findVersionByCriteria should combine the agenda counter with the latest update when unfiltered")
+    void findVersionByCriteria_shouldUseAgendaCounter_whenUnfiltered() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var updatedAt = LocalDateTime.of(2024, 5, 1, 10, 30);
+        when(agendaRepository.findContactCountById(agendaId)).thenReturn(Optional.of(42L));
+        when(contactRepository.findMaxUpdatedAtByAgendaId(agendaId)).thenReturn(Optional.of(updatedAt));
+
+        // Act
+        ResourceVersion version = contactService.findVersionByCriteria(agendaId, null, null);
+
+        // Assert
+        assertThat(version).isEqualTo(new ResourceVersion(updatedAt, 42));
+        verify(contactRepository, never()).findVersion(any());
+    }
+
+    @Test
+    @DisplayName("findVersionByCriteria should aggregate the matching contacts when filtered")
+    void findVersionByCriteria_shouldAggregateMatches_whenFiltered() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        var expected = new ResourceVersion(LocalDateTime.of(2024, 5, 1, 10, 30), 3);
+        when(agendaRepository.findContactCountById(agendaId)).thenReturn(Optional.of(42L));
+        when(contactRepository.findVersion(ArgumentMatchers.<Specification<Contact>>any())).thenReturn(expected);
+
+        // Act
+        ResourceVersion version = contactService.findVersionByCriteria(agendaId, "ana", null);
+
+        // Assert
+        assertThat(version).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("findAllByCriteria should throw exception when agenda does not exist")
+    void findAllByCriteria_shouldThrowException_whenAgendaNotFound() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaRepository.findContactCountById(agendaId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.findAllByCriteria(agendaId, null, null, PageRequest.of(0, 10), version -> false))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Agenda not found with id: " + agendaId);
+    }
+
+    @Test
+    @DisplayName("findAllById should load contacts in a single query and return them in request order")
+    void findAllById_shouldReturnFoundContactsInRequestOrder() {
+        // Arrange
+        var ana = new Contact("Ana", ContactType.MOBILE, "11", "911111111", null);
+        ana.setId(UUID.randomUUID());
+        var bruno = new Contact("Bruno", ContactType.MOBILE, "11", "922222222", null);
+        bruno.setId(UUID.randomUUID());
+        var unknownId = UUID.randomUUID();
+        when(contactRepository.findAllById(any())).thenReturn(List.of(ana, bruno));
+
+        // Act
+        List<Contact> contacts = contactService.findAllById(List.of(bruno.getId(), unknownId, ana.getId()));
+
+        // Assert
+        assertThat(contacts).containsExactly(bruno, ana);
+        verify(contactRepository).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("findAllById should reject more ids than allowed per request")
+    void findAllById_shouldThrowException_whenTooManyIds() {
+        // Arrange
+        var ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.findAllById(ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch get is limited to 3 ids per request.");
+        verify(contactRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("deleteContactsByNamePrefix should return the number of contacts removed in chunks")
+    void deleteContactsByNamePrefix_shouldReturnDeletedCount_whenAgendaExists() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(contactPrefixDeleter.deleteByNamePrefix(eq(agendaId), eq("an"), any())).thenReturn(2500L);
+
+        // Act
+        long deleted = contactService.deleteContactsByNamePrefix(agendaId, "an");
+
+        // Assert
+        assertThat(deleted).isEqualTo(2500);
+        verify(agendaService).findById(agendaId);
+    }
+
+    @Test
+    @DisplayName("deleteContactsByNamePrefix should not delete anything when agenda does not exist")
+    void deleteContactsByNamePrefix_shouldThrowException_whenAgendaNotFound() {
+        // Arrange
+        var agendaId = UUID.randomUUID();
+        when(agendaService.findById(agendaId)).thenThrow(new EntityNotFoundException("Agenda not found with id: " + agendaId));
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.deleteContactsByNamePrefix(agendaId, "an"))
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(contactPrefixDeleter);
+    }
+
+    @Test
+    @DisplayName("findAllByPhone should look the phone up in every agenda")
+    void findAllByPhone_shouldReturnContactsOfEveryAgenda() {
+        // Arrange
+        var ana = new Contact("Ana", ContactType.MOBILE, "11", "911111111", new Agenda("Trabalho"));
+        var mae = new Contact("Mae", ContactType.MOBILE, "11", "911111111", new Agenda("Familia"));
+        when(contactRepository.findByAreaCodeAndPhoneNumberOrderByName("11", "911111111")).thenReturn(List.of(ana, mae));
+
+        // Act
+        List<Contact> contacts = contactService.findAllByPhone("11", "911111111");
+
+        // Assert
+        assertThat(contacts).containsExactly(ana, mae);
+    }
+
+    @Test
+    @DisplayName("search should require every word as an accent-insensitive prefix, dropping tsquery operators")
+    void search_shouldBuildPrefixQuery_fromWordsOfQuery() {
+        // Arrange
+        var pageable = PageRequest.of(0, 10);
+
+        // Act
+        contactService.search(" João & da|Sil:*! ", pageable);
+
+        // Assert
+        verify(contactRepository).search("João:* & da:* & Sil:*", pageable);
+    }
+
+    @Test
+    @DisplayName("search should reject a query without letters or digits")
+    void search_shouldThrowException_whenQueryHasNoWords() {
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.search(" &!* ", PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The search query must contain at least one letter or digit.");
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    @DisplayName("suggest should reject a limit above the configured maximum")
+    void suggest_shouldThrowException_whenLimitTooLarge() {
+        // Act & Assert
+        assertThatThrownBy(() -> contactService.suggest(UUID.randomUUID(), "an", 51))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The limit must be between 1 and 50.");
+        verifyNoInteractions(contactSuggestionIndex);
+    }
+
+    private static ContactResponseDTO response(String name, String phoneNumber) {
+        var now = LocalDateTime.now();
+        return new ContactResponseDTO(UUID.randomUUID(), name, ContactType.MOBILE, "11", phoneNumber, now, now);
     }
-}
\ No newline at end of file
+}
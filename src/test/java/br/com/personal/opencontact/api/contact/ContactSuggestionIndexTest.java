@@ -0,0 +1,113 @@
+package br.com.personal.opencontact.api.contact;
+
+import br.com.personal.opencontact.api.agenda.AgendaRepository;
+import br.com.personal.opencontact.api.contact.dto.ContactSuggestionDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContactSuggestionIndexTest {
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    private ContactSuggestionIndex contactSuggestionIndex;
+
+    private final UUID agendaId = UUID.randomUUID();
+    private final ContactSuggestionDTO joao = new ContactSuggestionDTO(UUID.randomUUID(), "João da Silva");
+    private final ContactSuggestionDTO joana = new ContactSuggestionDTO(UUID.randomUUID(), "Joana");
+    private final ContactSuggestionDTO silvia = new ContactSuggestionDTO(UUID.randomUUID(), "Sílvia Dias");
+
+    @BeforeEach
+    void setUp() {
+        contactSuggestionIndex = new ContactSuggestionIndex(contactRepository, agendaRepository,
+                new ContactSuggestProperties(50, 10, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("suggest should match the start of any name word, ignoring accents and case, loading the agenda once")
+    void suggest_shouldMatchWordPrefixes_ignoringAccentsAndCase() {
+        // Arrange
+        givenAgenda(joao, joana, silvia);
+
+        // Act & Assert
+        assertThat(contactSuggestionIndex.suggest(agendaId, "JOA", 10)).containsExactly(joana, joao);
+        assertThat(contactSuggestionIndex.suggest(agendaId, "joão ", 10)).containsExactly(joao);
+        assertThat(contactSuggestionIndex.suggest(agendaId, "sil", 10)).containsExactly(joao, silvia);
+        assertThat(contactSuggestionIndex.suggest(agendaId, "  ", 10)).isEmpty();
+        verify(contactRepository, times(1)).findSuggestionsByAgendaId(agendaId);
+    }
+
+    @Test
+    @DisplayName("suggest should return at most limit contacts, each once")
+    void suggest_shouldReturnAtMostLimitContacts() {
+        // Arrange
+        var ana = new ContactSuggestionDTO(UUID.randomUUID(), "Ana Ana");
+        givenAgenda(ana, joana, new ContactSuggestionDTO(UUID.randomUUID(), "Anabela"));
+
+        // Act
+        List<ContactSuggestionDTO> suggestions = contactSuggestionIndex.suggest(agendaId, "ana", 2);
+
+        // Assert
+        assertThat(suggestions).hasSize(2).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("put, remove and removeByNamePrefix should update a loaded agenda incrementally")
+    void writes_shouldUpdateLoadedAgenda() {
+        // Arrange
+        givenAgenda(joao, joana);
+        contactSuggestionIndex.suggest(agendaId, "jo", 10);
+        var renamed = new ContactSuggestionDTO(joao.id(), "Jonas");
+
+        // Act
+        contactSuggestionIndex.put(agendaId, joao.id(), "Jonas");
+        contactSuggestionIndex.put(agendaId, silvia.id(), silvia.name());
+
+        // Assert
+        assertThat(contactSuggestionIndex.suggest(agendaId, "jo", 10)).containsExactly(joana, renamed);
+        assertThat(contactSuggestionIndex.suggest(agendaId, "silva", 10)).isEmpty();
+        assertThat(contactSuggestionIndex.suggest(agendaId, "silvia", 10)).containsExactly(silvia);
+
+        contactSuggestionIndex.remove(agendaId, joana.id());
+        contactSuggestionIndex.removeByNamePrefix(agendaId, "SÍL");
+        assertThat(contactSuggestionIndex.suggest(agendaId, "jo", 10)).containsExactly(renamed);
+        assertThat(contactSuggestionIndex.suggest(agendaId, "s", 10)).isEmpty();
+        verify(contactRepository, times(1)).findSuggestionsByAgendaId(agendaId);
+    }
+
+    @Test
+    @DisplayName("suggest should throw exception when the agenda does not exist")
+    void suggest_shouldThrowException_whenAgendaDoesNotExist() {
+        // Arrange
+        when(agendaRepository.existsById(agendaId)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> contactSuggestionIndex.suggest(agendaId, "jo", 10))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Agenda not found with id: " + agendaId);
+    }
+
+    private void givenAgenda(ContactSuggestionDTO... contacts) {
+        when(agendaRepository.existsById(agendaId)).thenReturn(true);
+        when(contactRepository.findSuggestionsByAgendaId(agendaId)).thenReturn(List.of(contacts));
+    }
+}